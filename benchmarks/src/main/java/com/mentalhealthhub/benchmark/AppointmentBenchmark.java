@@ -0,0 +1,53 @@
+package com.mentalhealthhub.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mentalhealthhub.model.User;
+import com.mentalhealthhub.repository.UserRepository;
+import com.mentalhealthhub.service.AppointmentService;
+import com.mentalhealthhub.util.TimeSlotUtil;
+
+/**
+ * Slot availability lookups for random professionals on random days inside
+ * the seeded 60 day appointment window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AppointmentBenchmark {
+
+    private AppointmentService appointmentService;
+    private List<User> professionals;
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final LocalDate today = LocalDate.now();
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        appointmentService = database.bean(AppointmentService.class);
+        professionals = database.bean(UserRepository.class).findAllById(database.professionalIds());
+    }
+
+    @Benchmark
+    public List<TimeSlotUtil.TimeSlot> getAvailableTimeSlots() {
+        User professional = professionals.get(random.nextInt(professionals.size()));
+        return appointmentService.getAvailableTimeSlots(today.plusDays(random.nextInt(60)), professional);
+    }
+}
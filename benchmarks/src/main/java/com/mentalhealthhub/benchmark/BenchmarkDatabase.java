@@ -0,0 +1,96 @@
+package com.mentalhealthhub.benchmark;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mentalhealthhub.MentalHealthHubApplication;
+import com.mentalhealthhub.util.SyntheticDataWriter;
+
+/**
+ * Boots the application context (without the web server) against a fresh
+ * in-memory H2 database in MySQL mode and seeds it once per trial with
+ * {@link SyntheticDataWriter}.
+ * Dataset sizes are JMH parameters, e.g. {@code -p students=10000}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    @Param({ "1000", "10000" })
+    public int students;
+
+    @Param({ "20000" })
+    public int appointments;
+
+    @Param({ "100000" })
+    public int selfCare;
+
+    @Param({ "42" })
+    public long seed;
+
+    private ConfigurableApplicationContext context;
+    private List<Long> professionalIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driverClassName", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.devtools.restart.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.mentalhealthhub", "WARN");
+        // Keep background jobs out of the measurements
+        properties.put("analytics.engagement.initial-delay-ms", "86400000");
+        properties.put("analytics.rollup.flush-ms", "86400000");
+        // A fresh search index per run; the default one may be locked by a running app
+        properties.put("forum.search.index-dir", Path.of(System.getProperty("java.io.tmpdir"),
+                "forum-index-" + UUID.randomUUID()).toString());
+
+        // Passed as command line arguments so they take precedence over application.yml
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(MentalHealthHubApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // Forum activity and assessments scale with the number of students
+        new SyntheticDataWriter(jdbcTemplate, Runtime.getRuntime().availableProcessors(), 1000, seed)
+                .write(new SyntheticDataWriter.Volumes(students, Math.max(1, students / 100), 0, 0, selfCare, 2,
+                        appointments, students / 5, students / 2));
+        professionalIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE role = 'PROFESSIONAL'", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Long> professionalIds() {
+        return professionalIds;
+    }
+}
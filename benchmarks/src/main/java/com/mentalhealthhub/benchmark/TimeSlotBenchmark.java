@@ -0,0 +1,58 @@
+package com.mentalhealthhub.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mentalhealthhub.util.TimeSlotUtil;
+
+/**
+ * Slot validation on shuffled selections of consecutive slots. Needs no
+ * database.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeSlotBenchmark {
+
+    @Param({ "2", "4", "10" })
+    public int selectedSlots;
+
+    private List<TimeSlotUtil.TimeSlot> selection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Morning slots only, so every selection stays consecutive
+        List<TimeSlotUtil.TimeSlot> all = TimeSlotUtil.generateAllTimeSlots();
+        selection = new ArrayList<>(all.subList(0, Math.min(selectedSlots, 10)));
+        Collections.shuffle(selection, new Random(11));
+    }
+
+    @Benchmark
+    public boolean areSlotsConsecutive() {
+        return TimeSlotUtil.areSlotsConsecutive(selection);
+    }
+
+    @Benchmark
+    public boolean validateSelection() {
+        return TimeSlotUtil.areSlotsConsecutive(selection) && TimeSlotUtil.slotsValidateLunchBreak(selection);
+    }
+}
@@ -0,0 +1,67 @@
+package com.mentalhealthhub.service;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mentalhealthhub.benchmark.BenchmarkDatabase;
+import com.mentalhealthhub.dto.ComprehensiveAnalyticsDTO;
+
+/**
+ * Analytics hot paths. Lives in the service package so it can call the
+ * package-private engagement calculation without going through a section.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsBenchmark {
+
+    private AnalyticsService analyticsService;
+    private AnalyticsService analyticsTarget;
+    private AnalyticsSnapshotCache snapshotCache;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkDatabase database) {
+        analyticsService = database.bean(AnalyticsService.class);
+        analyticsTarget = (AnalyticsService) AopProxyUtils.getSingletonTarget(analyticsService);
+        snapshotCache = database.bean(AnalyticsSnapshotCache.class);
+        readOnlyTransaction = new TransactionTemplate(database.bean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        // Trend sections read the rollup, which was empty when the context started
+        database.bean(DailyMetricsService.class).rebuild();
+    }
+
+    @Benchmark
+    public Map<Long, Double> calculateEngagementRates() {
+        return readOnlyTransaction.execute(status -> analyticsTarget.calculateEngagementRates());
+    }
+
+    @Benchmark
+    public ComprehensiveAnalyticsDTO comprehensiveAnalyticsUncached() {
+        snapshotCache.invalidateAll();
+        return analyticsService.getComprehensiveAnalytics();
+    }
+
+    @Benchmark
+    public ComprehensiveAnalyticsDTO comprehensiveAnalyticsCached() {
+        return analyticsService.getComprehensiveAnalytics();
+    }
+}
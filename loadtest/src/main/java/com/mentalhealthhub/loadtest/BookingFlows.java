@@ -0,0 +1,243 @@
+package com.mentalhealthhub.loadtest;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+/**
+ * The appointment flows a virtual user runs, each as the sequence of
+ * requests the pages send. Every request is recorded under its own name and
+ * the whole flow under {@code flow.<name>} with the outcome of its last step.
+ *
+ * Contention comes from aiming {@code hotShare} of the traffic at the first
+ * professionals and days and from students picking among the first few free
+ * slots, so concurrent users often read the same availability and race for
+ * the same slot.
+ */
+public class BookingFlows {
+
+    // Report ids for professional proposals; no report row is needed
+    private static final long FIRST_REPORT_ID = 1_000_000_000L;
+
+    private final LoadTestOptions options;
+    private final LoadStats stats;
+    private final List<SessionClient> professionals;
+    private final AtomicLong reportIds = new AtomicLong(FIRST_REPORT_ID);
+
+    public BookingFlows(LoadTestOptions options, LoadStats stats, List<SessionClient> professionals) {
+        this.options = options;
+        this.stats = stats;
+        this.professionals = professionals;
+    }
+
+    /**
+     * Runs one flow picked by the configured mix.
+     */
+    public void runOne(Random random, SessionClient student) throws InterruptedException {
+        int pick = random.nextInt(options.bookWeight() + options.reviewWeight() + options.proposalWeight());
+        if (pick < options.bookWeight()) {
+            book(random, student);
+        } else if (pick < options.bookWeight() + options.reviewWeight()) {
+            review(random);
+        } else {
+            counterProposal(random, student);
+        }
+    }
+
+    /**
+     * Student reads the free slots of a professional's day and books one.
+     */
+    public void book(Random random, SessionClient student) throws InterruptedException {
+        long started = System.nanoTime();
+        SessionClient professional = pickProfessional(random);
+        LocalDate date = pickDate(random);
+        Step slots = step("book.available-slots", () -> student.get("/appointments/api/available-slots?date=" + date
+                + "&professionalId=" + professional.getUserId()));
+        Step result = slots;
+        if (slots.ok()) {
+            JsonNode slot = pickSlot(random, slots.json().path("slots"), "start");
+            if (slot == null) {
+                result = skipped("book.save");
+            } else {
+                result = step("book.save", () -> student.postForm("/appointments/save", Map.of(
+                        "professionalId", professional.getUserId(),
+                        "appointmentDate", date,
+                        "startTime", slot.path("start").asText(),
+                        "endTime", slot.path("end").asText())), response -> {
+                            // The form redirects back to the booking page when the slot was taken
+                            if (response.status() != 302) {
+                                return LoadStats.Outcome.ERROR;
+                            }
+                            return response.location().endsWith("/appointments/book")
+                                    ? LoadStats.Outcome.CONFLICT
+                                    : response.location().endsWith("/appointments")
+                                            ? LoadStats.Outcome.OK
+                                            : LoadStats.Outcome.ERROR;
+                        });
+            }
+        }
+        stats.record("flow.book", result.outcome(), System.nanoTime() - started);
+    }
+
+    /**
+     * Professional loads the pending requests and approves or rejects one.
+     * Professionals are shared between threads, so two threads can act on
+     * the same request like two open browser tabs.
+     */
+    public void review(Random random) throws InterruptedException {
+        long started = System.nanoTime();
+        SessionClient professional = pickProfessional(random);
+        Step pending = step("review.pending", () -> professional.get(
+                "/appointments/api/schedule?status=PENDING&size=20&from=" + LocalDate.now().plusDays(1)));
+        Step result = pending;
+        if (pending.ok()) {
+            JsonNode appointments = pending.json().path("appointments");
+            if (appointments.isEmpty()) {
+                result = skipped("review.decide");
+            } else {
+                long id = appointments.get(random.nextInt(appointments.size())).path("id").asLong();
+                boolean approve = random.nextDouble() < options.approveShare();
+                String operation = approve ? "review.approve" : "review.reject";
+                result = step(operation, () -> professional.postForm(
+                        "/appointments/api/" + id + (approve ? "/approve" : "/reject"), Map.of()));
+            }
+        }
+        stats.record("flow.review", result.outcome(), System.nanoTime() - started);
+    }
+
+    /**
+     * Professional proposes a time from a report, the student rejects it with
+     * a counter-proposal for another day and the professional schedules the
+     * student's time.
+     */
+    public void counterProposal(Random random, SessionClient student) throws InterruptedException {
+        long started = System.nanoTime();
+        SessionClient professional = pickProfessional(random);
+        LocalDate date = pickDate(random);
+        long reportId = reportIds.incrementAndGet();
+        Step result = step("proposal.available-slots", () -> professional.get(
+                "/appointments/api/available-slots?date=" + date + "&professionalId=" + professional.getUserId()
+                        + "&studentId=" + student.getUserId()));
+        JsonNode offered = result.ok() ? pickSlot(random, result.json().path("slots"), "start") : null;
+        if (result.ok() && offered == null) {
+            result = skipped("proposal.create");
+        }
+        if (offered != null) {
+            // The form always redirects to the report, so look the appointment up to see if it was created
+            result = step("proposal.create", () -> professional.postForm("/appointments/book", Map.of(
+                    "studentId", student.getUserId(),
+                    "reportId", reportId,
+                    "appointmentDate", date,
+                    "appointmentTime", offered.path("start").asText(),
+                    "appointmentDuration", 1)), response -> response.status() == 302
+                            ? LoadStats.Outcome.OK : LoadStats.Outcome.ERROR);
+            if (result.ok()) {
+                result = step("proposal.lookup", () -> professional.get("/appointments/api/by-report/" + reportId),
+                        response -> response.status() == 200 ? LoadStats.Outcome.OK
+                                : response.status() == 404 ? LoadStats.Outcome.CONFLICT : LoadStats.Outcome.ERROR);
+            }
+        }
+        if (result.ok()) {
+            long appointmentId = result.json().path("id").asLong();
+            LocalDate suggestedDate = pickDate(random);
+            result = step("proposal.student-slots", () -> student.get(
+                    "/appointments/" + appointmentId + "/available-slots?date=" + suggestedDate));
+            JsonNode suggested = result.ok() ? pickSlot(random, result.json(), "startTime") : null;
+            if (result.ok() && suggested == null) {
+                result = skipped("proposal.suggest");
+            }
+            if (suggested != null) {
+                result = step("proposal.suggest", () -> student.postForm(
+                        "/appointments/" + appointmentId + "/student-reject-suggest", Map.of(
+                                "suggestedDate", suggestedDate,
+                                "suggestedStartTime", suggested.path("startTime").asText(),
+                                "suggestedEndTime", suggested.path("endTime").asText())));
+                if (result.ok()) {
+                    result = step("proposal.schedule", () -> professional.postForm(
+                            "/appointments/" + appointmentId + "/professional-schedule-suggestion", Map.of()));
+                }
+            }
+        }
+        stats.record("flow.counter-proposal", result.outcome(), System.nanoTime() - started);
+    }
+
+    private SessionClient pickProfessional(Random random) {
+        int count = random.nextDouble() < options.hotShare() ? options.hotProfessionals() : professionals.size();
+        return professionals.get(random.nextInt(count));
+    }
+
+    private LocalDate pickDate(Random random) {
+        int hotDays = Math.max(1, options.days() / 4);
+        int count = random.nextDouble() < options.hotShare() ? hotDays : options.days();
+        return LocalDate.now().plusDays(1 + random.nextInt(count));
+    }
+
+    // One of the first free slots in day order, or null when the day is full
+    private JsonNode pickSlot(Random random, JsonNode slots, String startField) {
+        List<JsonNode> free = new ArrayList<>();
+        slots.forEach(slot -> {
+            if (slot.hasNonNull(startField)) {
+                free.add(slot);
+            }
+        });
+        return free.isEmpty() ? null : free.get(random.nextInt(Math.min(free.size(), options.slotSpread())));
+    }
+
+    private Step skipped(String operation) {
+        stats.record(operation, LoadStats.Outcome.SKIPPED, 0);
+        return new Step(LoadStats.Outcome.SKIPPED, null);
+    }
+
+    // 2xx is accepted, 400 is a rule violation such as a taken slot, anything else is an error
+    private Step step(String operation, Call call) throws InterruptedException {
+        return step(operation, call, response -> response.status() / 100 == 2 ? LoadStats.Outcome.OK
+                : response.status() == 400 ? LoadStats.Outcome.CONFLICT : LoadStats.Outcome.ERROR);
+    }
+
+    private Step step(String operation, Call call, Classifier classifier) throws InterruptedException {
+        long started = System.nanoTime();
+        SessionClient.Response response = null;
+        LoadStats.Outcome outcome;
+        try {
+            response = call.send();
+            outcome = classifier.classify(response);
+        } catch (IOException e) {
+            outcome = LoadStats.Outcome.ERROR;
+        }
+        stats.record(operation, outcome, System.nanoTime() - started);
+        return new Step(outcome, response);
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        SessionClient.Response send() throws IOException, InterruptedException;
+    }
+
+    @FunctionalInterface
+    private interface Classifier {
+        LoadStats.Outcome classify(SessionClient.Response response);
+    }
+
+    private record Step(LoadStats.Outcome outcome, SessionClient.Response response) {
+
+        boolean ok() {
+            return outcome == LoadStats.Outcome.OK;
+        }
+
+        // Parsed body of an accepted response; a malformed body is a missing node
+        JsonNode json() {
+            try {
+                return response.json();
+            } catch (IOException e) {
+                return MissingNode.getInstance();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.mentalhealthhub.loadtest;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking contention load test. Boots the application on an embedded
+ * server, logs in the seeded students and professionals and runs the
+ * student booking, professional approve/reject and counter-proposal flows
+ * from {@code threads} virtual users for a fixed time. Prints throughput,
+ * latency percentiles and conflict/error rates per request and per flow,
+ * then checks the database for double bookings.
+ *
+ * Run with {@code mvn -f loadtest/pom.xml package exec:exec
+ * -Dloadtest.args="--threads=64 --duration=120"}; see
+ * {@link LoadTestOptions} for all options.
+ */
+public class BookingLoadTest {
+
+    private static final String PASSWORD = "password";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (LoadTestServer server = new LoadTestServer(options)) {
+            new BookingLoadTest().run(options, server);
+        }
+        // Stop the HTTP client's and the application's non-daemon threads
+        System.exit(0);
+    }
+
+    void run(LoadTestOptions options, LoadTestServer server) throws Exception {
+        HttpClient http = SessionClient.newHttpClient();
+        List<SessionClient> students = login(http, server, server.emails("STUDENT"), "STUDENT");
+        List<SessionClient> professionals = login(http, server, server.emails("PROFESSIONAL"), "PROFESSIONAL");
+        System.out.printf("Logged in %d students and %d professionals at %s%n", students.size(),
+                professionals.size(), server.baseUrl());
+
+        LoadStats stats = new LoadStats();
+        BookingFlows flows = new BookingFlows(options, stats, professionals);
+        long warmupEnds = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long runEnds = warmupEnds + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads());
+        List<Future<?>> running = new ArrayList<>();
+        for (int t = 0; t < options.threads(); t++) {
+            // Each thread owns every threads-th student, so a student never runs two flows at once
+            List<SessionClient> own = new ArrayList<>();
+            for (int i = t; i < students.size(); i += options.threads()) {
+                own.add(students.get(i));
+            }
+            Random random = new Random(options.seed() + t);
+            running.add(workers.submit(() -> {
+                while (System.nanoTime() < runEnds) {
+                    flows.runOne(random, own.get(random.nextInt(own.size())));
+                }
+                return null;
+            }));
+        }
+
+        System.out.printf("Warming up for %d s, then measuring for %d s with %d threads%n", options.warmupSeconds(),
+                options.durationSeconds(), options.threads());
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnds - System.nanoTime()));
+        stats.start();
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, runEnds - System.nanoTime()));
+        for (Future<?> worker : running) {
+            worker.get();
+        }
+        stats.stop();
+        workers.shutdown();
+
+        stats.print(System.out);
+        System.out.println();
+        for (Map<String, Object> row : server.appointmentsByStatus()) {
+            System.out.printf("%-20s %d%n", row.get("status"), ((Number) row.get("total")).longValue());
+        }
+        System.out.printf("Overlapping active appointments: %d%n", server.doubleBookings());
+    }
+
+    private List<SessionClient> login(HttpClient http, LoadTestServer server, List<String> emails, String role)
+            throws Exception {
+        List<SessionClient> sessions = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            SessionClient session = new SessionClient(http, server.baseUrl(), email, role);
+            session.login(PASSWORD);
+            sessions.add(session);
+        }
+        return sessions;
+    }
+}
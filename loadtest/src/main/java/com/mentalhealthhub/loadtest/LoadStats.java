@@ -0,0 +1,144 @@
+package com.mentalhealthhub.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome counts and latency histograms per operation. Recording is
+ * lock-free so it does not serialise the virtual users; latencies go into
+ * log-linear buckets (16 per power of two, about 6% precision) from which
+ * the percentiles are read. Skipped steps count towards the rates but not
+ * the latencies.
+ */
+public class LoadStats {
+
+    public enum Outcome {
+        /** Request accepted. */
+        OK,
+        /** Rejected by a booking rule, usually because another user won the race. */
+        CONFLICT,
+        /** Nothing to do, e.g. no free slot left or no pending request to review. */
+        SKIPPED,
+        /** Transport failure, server error or an unexpected response. */
+        ERROR
+    }
+
+    private final Map<String, Operation> operations = new ConcurrentSkipListMap<>();
+    private volatile boolean recording;
+    private volatile long startedNanos;
+    private volatile long stoppedNanos;
+
+    /**
+     * Clears earlier samples, e.g. those of the warm-up, and starts recording.
+     */
+    public void start() {
+        operations.clear();
+        startedNanos = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        stoppedNanos = System.nanoTime();
+        recording = false;
+    }
+
+    public void record(String operation, Outcome outcome, long latencyNanos) {
+        if (recording) {
+            operations.computeIfAbsent(operation, name -> new Operation()).record(outcome, latencyNanos);
+        }
+    }
+
+    public void print(PrintStream out) {
+        double seconds = Math.max(1, stoppedNanos - startedNanos) / 1e9;
+        out.printf("%n%-28s %9s %9s %7s %7s %7s %7s %9s %9s %9s %9s%n", "operation", "count", "ops/s", "ok%",
+                "confl%", "skip%", "err%", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        operations.forEach((name, operation) -> {
+            long count = operation.count();
+            out.printf("%-28s %9d %9.1f %7.1f %7.1f %7.1f %7.1f %9.2f %9.2f %9.2f %9.2f%n", name, count,
+                    count / seconds, operation.percent(Outcome.OK), operation.percent(Outcome.CONFLICT),
+                    operation.percent(Outcome.SKIPPED), operation.percent(Outcome.ERROR),
+                    operation.percentile(0.50) / 1e6, operation.percentile(0.90) / 1e6,
+                    operation.percentile(0.99) / 1e6, operation.max.get() / 1e6);
+        });
+        out.printf("%nMeasured for %.1f s%n", seconds);
+    }
+
+    private static final class Operation {
+
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+        // Microsecond latencies; values below 16 have a bucket each
+        private final AtomicLongArray buckets = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Operation() {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] = new LongAdder();
+            }
+        }
+
+        void record(Outcome outcome, long latencyNanos) {
+            outcomes[outcome.ordinal()].increment();
+            if (outcome == Outcome.SKIPPED) {
+                // Nothing was sent, so there is no latency to report
+                return;
+            }
+            buckets.incrementAndGet(bucketOf(Math.max(0, latencyNanos / 1000)));
+            max.accumulate(latencyNanos);
+        }
+
+        long count() {
+            long count = 0;
+            for (LongAdder outcome : outcomes) {
+                count += outcome.sum();
+            }
+            return count;
+        }
+
+        double percent(Outcome outcome) {
+            long count = count();
+            return count == 0 ? 0 : 100.0 * outcomes[outcome.ordinal()].sum() / count;
+        }
+
+        // Upper bound of the bucket holding the given quantile, in nanoseconds
+        long percentile(double quantile) {
+            long total = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                total += buckets.get(i);
+            }
+            long rank = (long) Math.ceil(total * quantile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= rank && seen > 0) {
+                    return Math.min(upperBoundOf(i) * 1000, max.get());
+                }
+            }
+            return 0;
+        }
+
+        private static int bucketOf(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+            int shift = exponent - SUB_BUCKET_BITS;
+            return (shift + 1) * SUB_BUCKETS + (int) ((micros >>> shift) & (SUB_BUCKETS - 1));
+        }
+
+        private static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int shift = bucket / SUB_BUCKETS - 1;
+            long mantissa = SUB_BUCKETS + bucket % SUB_BUCKETS;
+            return ((mantissa + 1) << shift) - 1;
+        }
+    }
+}
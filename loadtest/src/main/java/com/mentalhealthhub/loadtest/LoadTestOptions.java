@@ -0,0 +1,94 @@
+package com.mentalhealthhub.loadtest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Load test settings, given as {@code --name=value} arguments.
+ *
+ * @param threads          concurrent virtual users
+ * @param durationSeconds  measured run time
+ * @param warmupSeconds    unmeasured run time before it
+ * @param students         seeded students, shared out between the threads
+ * @param professionals    seeded professionals
+ * @param hotProfessionals professionals that receive {@code hotShare} of the bookings
+ * @param hotShare         share of bookings aimed at the hot professionals and the first days
+ * @param days             booking window in days from tomorrow
+ * @param slotSpread       a student books one of the first {@code slotSpread} free slots
+ * @param bookWeight       relative frequency of the student booking flow
+ * @param reviewWeight     relative frequency of the professional approve/reject flow
+ * @param proposalWeight   relative frequency of the counter-proposal flow
+ * @param approveShare     share of reviewed requests that are approved
+ * @param poolSize         database connection pool size
+ * @param seed             random seed for the data and the load
+ * @param jdbcUrl          database to run against instead of in-memory H2
+ * @param jdbcUser         user for {@code jdbcUrl}
+ * @param jdbcPassword     password for {@code jdbcUrl}
+ */
+public record LoadTestOptions(int threads, int durationSeconds, int warmupSeconds, int students, int professionals,
+        int hotProfessionals, double hotShare, int days, int slotSpread, int bookWeight, int reviewWeight,
+        int proposalWeight, double approveShare, int poolSize, long seed, String jdbcUrl, String jdbcUser,
+        String jdbcPassword) {
+
+    private static final Set<String> NAMES = new TreeSet<>(List.of("threads", "duration", "warmup", "students",
+            "professionals", "hot-professionals", "hot-share", "days", "slot-spread", "mix", "approve-share",
+            "pool-size", "seed", "jdbc-url", "jdbc-user", "jdbc-password"));
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int split = arg.indexOf('=');
+            values.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        String[] mix = values.getOrDefault("mix", "70,20,10").split(",");
+        if (mix.length != 3) {
+            throw new IllegalArgumentException("--mix takes three weights: booking,review,proposal");
+        }
+        LoadTestOptions options = new LoadTestOptions(
+                intValue(values, "threads", 32),
+                intValue(values, "duration", 60),
+                intValue(values, "warmup", 10),
+                intValue(values, "students", 400),
+                intValue(values, "professionals", 12),
+                intValue(values, "hot-professionals", 3),
+                Double.parseDouble(values.getOrDefault("hot-share", "0.6")),
+                intValue(values, "days", 14),
+                intValue(values, "slot-spread", 3),
+                Integer.parseInt(mix[0].trim()),
+                Integer.parseInt(mix[1].trim()),
+                Integer.parseInt(mix[2].trim()),
+                Double.parseDouble(values.getOrDefault("approve-share", "0.8")),
+                intValue(values, "pool-size", 20),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.get("jdbc-url"),
+                values.getOrDefault("jdbc-user", "root"),
+                values.getOrDefault("jdbc-password", ""));
+        Set<String> unknown = new TreeSet<>(values.keySet());
+        unknown.removeAll(NAMES);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + unknown + ", expected " + NAMES);
+        }
+        if (options.threads < 1 || options.students < options.threads || options.professionals < 1
+                || options.hotProfessionals < 1 || options.hotProfessionals > options.professionals
+                || options.days < 1 || options.slotSpread < 1) {
+            throw new IllegalArgumentException("Need at least one professional, hot professional and day,"
+                    + " at most as many hot professionals as professionals and a student per thread");
+        }
+        if (options.bookWeight < 0 || options.reviewWeight < 0 || options.proposalWeight < 0
+                || options.bookWeight + options.reviewWeight + options.proposalWeight == 0) {
+            throw new IllegalArgumentException("--mix weights must be non-negative and not all zero");
+        }
+        return options;
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        String value = values.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
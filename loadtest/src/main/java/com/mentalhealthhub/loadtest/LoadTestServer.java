@@ -0,0 +1,123 @@
+package com.mentalhealthhub.loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mentalhealthhub.MentalHealthHubApplication;
+import com.mentalhealthhub.util.SyntheticDataWriter;
+
+/**
+ * Boots the full application with its embedded web server on a free port
+ * and seeds students and professionals with {@link SyntheticDataWriter}.
+ * Without a JDBC URL it runs on a fresh in-memory H2 database in MySQL mode;
+ * with one it targets that database (e.g. a disposable MySQL instance), which
+ * must be empty of synthetic data.
+ */
+public class LoadTestServer implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+    private final JdbcTemplate jdbcTemplate;
+
+    public LoadTestServer(LoadTestOptions options) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        if (options.jdbcUrl() == null) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest-" + UUID.randomUUID()
+                    + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.driverClassName", "org.h2.Driver");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        } else {
+            properties.put("spring.datasource.url", options.jdbcUrl());
+            properties.put("spring.datasource.username", options.jdbcUser());
+            properties.put("spring.datasource.password", options.jdbcPassword());
+        }
+        properties.put("server.port", "0");
+        properties.put("server.tomcat.threads.max", String.valueOf(Math.max(200, options.threads() * 2)));
+        properties.put("spring.datasource.hikari.maximum-pool-size", String.valueOf(options.poolSize()));
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.devtools.restart.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.mentalhealthhub", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        // Lost slot races surface as unique key violations that the application handles
+        properties.put("logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper", "OFF");
+        // Keep background jobs out of the measurements
+        properties.put("analytics.engagement.initial-delay-ms", "86400000");
+        properties.put("analytics.rollup.flush-ms", "86400000");
+        // A fresh search index per run; the default one may be locked by a running app
+        properties.put("forum.search.index-dir", Path.of(System.getProperty("java.io.tmpdir"),
+                "forum-index-" + UUID.randomUUID()).toString());
+
+        // Passed as command line arguments so they take precedence over application.yml
+        String[] args = properties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(MentalHealthHubApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(args);
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        baseUrl = "http://localhost:" + port + contextPath;
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        SyntheticDataWriter writer = new SyntheticDataWriter(jdbcTemplate,
+                Runtime.getRuntime().availableProcessors(), 1000, options.seed());
+        if (writer.hasSyntheticData()) {
+            throw new IllegalStateException("The database already holds synthetic users; use an empty database");
+        }
+        // Only users: every appointment is created through the endpoints under test
+        writer.write(new SyntheticDataWriter.Volumes(options.students(), options.professionals(), 0, 0, 0, 0, 0,
+                0, 0));
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Emails of the active seeded users of a role, in id order. The writer
+     * deactivates about one user in twenty, and those cannot log in.
+     */
+    public List<String> emails(String role) {
+        return jdbcTemplate.queryForList(
+                "SELECT email FROM users WHERE role = ? AND active = TRUE AND email LIKE ? ORDER BY id",
+                String.class, role, "%" + SyntheticDataWriter.EMAIL_DOMAIN);
+    }
+
+    /**
+     * Final appointment counts by status, for the summary.
+     */
+    public List<Map<String, Object>> appointmentsByStatus() {
+        return jdbcTemplate.queryForList(
+                "SELECT status, COUNT(*) AS total FROM appointments GROUP BY status ORDER BY status");
+    }
+
+    /**
+     * Pairs of active appointments of the same professional whose times
+     * overlap. Anything above zero is a double booking the conflict checks let
+     * through.
+     */
+    public long doubleBookings() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments a JOIN appointments b"
+                + " ON a.professional_id = b.professional_id AND a.appointment_date = b.appointment_date"
+                + " AND a.id < b.id AND a.time_slot_start < b.time_slot_end AND b.time_slot_start < a.time_slot_end"
+                + " WHERE a.status IN ('PENDING', 'APPROVED') AND b.status IN ('PENDING', 'APPROVED')", Long.class);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
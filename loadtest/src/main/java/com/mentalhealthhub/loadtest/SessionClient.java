@@ -0,0 +1,111 @@
+package com.mentalhealthhub.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * One logged-in user of the application. All users share one
+ * {@link HttpClient} (see {@link #newHttpClient()}) and each keeps its own
+ * session cookie, so the server sees a separate session per virtual user.
+ * Redirects are not followed because the form endpoints report success or
+ * failure through the redirect target.
+ */
+public class SessionClient {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final String email;
+    private final String role;
+    private volatile String sessionCookie;
+    private Long userId;
+
+    public SessionClient(HttpClient http, String baseUrl, String email, String role) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.role = role;
+    }
+
+    public static HttpClient newHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Logs in with the synthetic password and reads the user id.
+     *
+     * @throws IOException if the credentials are rejected
+     */
+    public void login(String password) throws IOException, InterruptedException {
+        Response response = postForm("/login", Map.of("email", email, "password", password, "role", role));
+        if (response.status() != 302 || response.location().endsWith("/login")) {
+            throw new IOException("Login failed for " + email + " (HTTP " + response.status() + ")");
+        }
+        JsonNode user = get("/appointments/api/current-user").json();
+        userId = user.path("id").asLong();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Response get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET());
+    }
+
+    public Response postForm(String path, Map<String, ?> form) throws IOException, InterruptedException {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((name, value) -> body.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return send(request(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        String cookie = sessionCookie;
+        return cookie != null ? builder.header("Cookie", cookie) : builder;
+    }
+
+    private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        // The login changes the session id, so always keep the latest one
+        response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("JSESSIONID="))
+                .findFirst()
+                .ifPresent(cookie -> sessionCookie = cookie.split(";", 2)[0]);
+        return new Response(response.statusCode(), response.headers().firstValue("Location").orElse(""),
+                response.body());
+    }
+
+    public record Response(int status, String location, String body) {
+
+        public JsonNode json() throws IOException {
+            return JSON.readTree(body);
+        }
+    }
+}
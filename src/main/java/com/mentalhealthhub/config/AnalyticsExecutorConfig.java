@@ -0,0 +1,32 @@
+package com.mentalhealthhub.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor used to build analytics dashboard sections in parallel.
+ * The pool is bounded so a burst of admin dashboard loads cannot exhaust
+ * the database connection pool; overflow runs on the calling thread.
+ */
+@Configuration
+public class AnalyticsExecutorConfig {
+
+    @Bean(name = "analyticsExecutor")
+    public ThreadPoolTaskExecutor analyticsExecutor(
+            @Value("${analytics.sections.pool-size:6}") int poolSize,
+            @Value("${analytics.sections.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analytics-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,107 @@
+package com.mentalhealthhub.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mentalhealthhub.service.AnalyticsSnapshotCache;
+import com.mentalhealthhub.service.AppointmentReminderScheduler;
+import com.mentalhealthhub.service.DailyMetricsService;
+import com.mentalhealthhub.service.EngagementStore;
+import com.mentalhealthhub.service.ForumHotThreads;
+import com.mentalhealthhub.service.ForumSearchIndex;
+import com.mentalhealthhub.service.ForumService;
+import com.mentalhealthhub.service.SlotAvailabilityIndex;
+import com.mentalhealthhub.service.SlotReservationLedger;
+import com.mentalhealthhub.util.SyntheticDataWriter;
+
+/**
+ * Loads a production-scale synthetic dataset on top of what DataInitializer
+ * seeds. Only active with the "bulk-data" profile, e.g.
+ * {@code java -jar app.jar --spring.profiles.active=bulk-data}.
+ *
+ * Runs once the application is ready, so the educational modules exist, and
+ * does nothing if synthetic users are already present. On MySQL add
+ * rewriteBatchedStatements=true to the JDBC URL for real batch inserts.
+ */
+@Component
+@Profile("bulk-data")
+public class BulkDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDataGenerator.class);
+
+    private final SyntheticDataWriter writer;
+    private final SyntheticDataWriter.Volumes volumes;
+    private final DailyMetricsService dailyMetricsService;
+    private final EngagementStore engagementStore;
+    private final AnalyticsSnapshotCache snapshotCache;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final SlotReservationLedger slotReservationLedger;
+    private final AppointmentReminderScheduler reminderScheduler;
+    private final ForumService forumService;
+    private final ForumSearchIndex forumSearchIndex;
+    private final ForumHotThreads forumHotThreads;
+
+    public BulkDataGenerator(JdbcTemplate jdbcTemplate,
+            DailyMetricsService dailyMetricsService,
+            EngagementStore engagementStore,
+            AnalyticsSnapshotCache snapshotCache,
+            SlotAvailabilityIndex slotAvailabilityIndex,
+            SlotReservationLedger slotReservationLedger,
+            AppointmentReminderScheduler reminderScheduler,
+            ForumService forumService,
+            ForumSearchIndex forumSearchIndex,
+            ForumHotThreads forumHotThreads,
+            @Value("${data-generator.users:100000}") int users,
+            @Value("${data-generator.self-care:2000000}") int selfCare,
+            @Value("${data-generator.assessments-per-student:4}") int assessmentsPerStudent,
+            @Value("${data-generator.appointments:300000}") int appointments,
+            @Value("${data-generator.forum-posts:20000}") int forumPosts,
+            @Value("${data-generator.forum-comments:150000}") int forumComments,
+            @Value("${data-generator.threads:8}") int threads,
+            @Value("${data-generator.batch-size:1000}") int batchSize,
+            @Value("${data-generator.seed:42}") long seed) {
+        this.writer = new SyntheticDataWriter(jdbcTemplate, threads, batchSize, seed);
+        // Role mix of a university: mostly students, a few counsellors and staff
+        int professionals = Math.max(1, users / 50);
+        int staff = Math.max(1, users / 33);
+        int admins = Math.max(1, users / 1000);
+        this.volumes = new SyntheticDataWriter.Volumes(users - professionals - staff - admins, professionals,
+                staff, admins, selfCare, assessmentsPerStudent, appointments, forumPosts, forumComments);
+        this.dailyMetricsService = dailyMetricsService;
+        this.engagementStore = engagementStore;
+        this.snapshotCache = snapshotCache;
+        this.slotAvailabilityIndex = slotAvailabilityIndex;
+        this.slotReservationLedger = slotReservationLedger;
+        this.reminderScheduler = reminderScheduler;
+        this.forumService = forumService;
+        this.forumSearchIndex = forumSearchIndex;
+        this.forumHotThreads = forumHotThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate() {
+        if (writer.hasSyntheticData()) {
+            logger.info("Synthetic data already present; skipping bulk generation");
+            return;
+        }
+        logger.info("Generating synthetic dataset: {}", volumes);
+        writer.write(volumes);
+
+        // The rows bypassed JPA, so no change events were published for them
+        dailyMetricsService.rebuild();
+        slotReservationLedger.rebuild();
+        engagementStore.recompute();
+        snapshotCache.invalidateAll();
+        slotAvailabilityIndex.invalidateAll();
+        reminderScheduler.reload();
+        forumService.rebuild();
+        forumSearchIndex.rebuild();
+        forumHotThreads.reseed();
+    }
+}
@@ -0,0 +1,12 @@
+package com.mentalhealthhub.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs (cache refreshes, rollups).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
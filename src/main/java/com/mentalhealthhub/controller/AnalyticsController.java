@@ -1,10 +1,16 @@
 package com.mentalhealthhub.controller;
 
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import com.mentalhealthhub.dto.AdminActivityDTO;
 import com.mentalhealthhub.dto.AppointmentAnalyticsDTO;
@@ -17,85 +23,139 @@ import com.mentalhealthhub.dto.SelfCareAnalyticsDTO;
 import com.mentalhealthhub.dto.StaffDashboardMetricsDTO;
 import com.mentalhealthhub.dto.UserAnalyticsDTO;
 import com.mentalhealthhub.service.AnalyticsService;
+import com.mentalhealthhub.service.AnalyticsSnapshotCache;
 
 @RestController
 @RequestMapping("/api/analytics")
 @CrossOrigin(origins = "*")
 public class AnalyticsController {
 
+    // Browsers may keep responses but must revalidate them on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final AnalyticsService analyticsService;
+    private final AnalyticsSnapshotCache snapshotCache;
 
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService, AnalyticsSnapshotCache snapshotCache) {
         this.analyticsService = analyticsService;
+        this.snapshotCache = snapshotCache;
     }
 
     // User Analytics
     @GetMapping("/users")
-    public ResponseEntity<UserAnalyticsDTO> getUserAnalytics() {
+    public ResponseEntity<UserAnalyticsDTO> getUserAnalytics(WebRequest request) {
+        if (notModified(request, AnalyticsService.USER_SOURCES)) {
+            return null;
+        }
         UserAnalyticsDTO analytics = analyticsService.getUserAnalytics();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Mental Health Trends
     @GetMapping("/mental-health")
-    public ResponseEntity<MentalHealthTrendsDTO> getMentalHealthTrends() {
+    public ResponseEntity<MentalHealthTrendsDTO> getMentalHealthTrends(WebRequest request) {
+        if (notModified(request, AnalyticsService.MENTAL_HEALTH_SOURCES)) {
+            return null;
+        }
         MentalHealthTrendsDTO analytics = analyticsService.getMentalHealthTrends();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Appointment Analytics
     @GetMapping("/appointments")
-    public ResponseEntity<AppointmentAnalyticsDTO> getAppointmentAnalytics() {
+    public ResponseEntity<AppointmentAnalyticsDTO> getAppointmentAnalytics(WebRequest request) {
+        if (notModified(request, AnalyticsService.APPOINTMENT_SOURCES)) {
+            return null;
+        }
         AppointmentAnalyticsDTO analytics = analyticsService.getAppointmentAnalytics();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Module Analytics
     @GetMapping("/modules")
-    public ResponseEntity<ModuleAnalyticsDTO> getModuleAnalytics() {
+    public ResponseEntity<ModuleAnalyticsDTO> getModuleAnalytics(WebRequest request) {
+        if (notModified(request, AnalyticsService.MODULE_SOURCES)) {
+            return null;
+        }
         ModuleAnalyticsDTO analytics = analyticsService.getModuleAnalytics();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Self-Care Analytics
     @GetMapping("/self-care")
-    public ResponseEntity<SelfCareAnalyticsDTO> getSelfCareAnalytics() {
+    public ResponseEntity<SelfCareAnalyticsDTO> getSelfCareAnalytics(WebRequest request) {
+        if (notModified(request, AnalyticsService.SELF_CARE_SOURCES)) {
+            return null;
+        }
         SelfCareAnalyticsDTO analytics = analyticsService.getSelfCareAnalytics();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Forum Analytics
     @GetMapping("/forum")
-    public ResponseEntity<ForumAnalyticsDTO> getForumAnalytics() {
+    public ResponseEntity<ForumAnalyticsDTO> getForumAnalytics(WebRequest request) {
+        if (notModified(request, AnalyticsService.FORUM_SOURCES)) {
+            return null;
+        }
         ForumAnalyticsDTO analytics = analyticsService.getForumAnalytics();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Report Analytics
     @GetMapping("/reports")
-    public ResponseEntity<ReportAnalyticsDTO> getReportAnalytics() {
+    public ResponseEntity<ReportAnalyticsDTO> getReportAnalytics(WebRequest request) {
+        if (notModified(request, AnalyticsService.REPORT_SOURCES)) {
+            return null;
+        }
         ReportAnalyticsDTO analytics = analyticsService.getReportAnalytics();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Admin Activity
     @GetMapping("/admin-activity")
-    public ResponseEntity<AdminActivityDTO> getAdminActivity() {
+    public ResponseEntity<AdminActivityDTO> getAdminActivity(WebRequest request) {
+        if (notModified(request, AnalyticsService.ADMIN_ACTIVITY_SOURCES)) {
+            return null;
+        }
         AdminActivityDTO analytics = analyticsService.getAdminActivity();
-        return ResponseEntity.ok(analytics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Comprehensive Analytics (all data at once)
     @GetMapping("/comprehensive")
-    public ResponseEntity<ComprehensiveAnalyticsDTO> getComprehensiveAnalytics() {
+    public ResponseEntity<ComprehensiveAnalyticsDTO> getComprehensiveAnalytics(WebRequest request) {
+        if (notModified(request, AnalyticsService.COMPREHENSIVE_SOURCES)) {
+            return null;
+        }
         ComprehensiveAnalyticsDTO analytics = analyticsService.getComprehensiveAnalytics();
-        return ResponseEntity.ok(analytics);
+        if (analytics.getFailedSections() != null && !analytics.getFailedSections().isEmpty()) {
+            // Do not let clients revalidate a partial result against the same version
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(analytics);
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(analytics);
     }
 
     // Staff Dashboard Metrics
     @GetMapping("/staff/dashboard-metrics")
-    public ResponseEntity<StaffDashboardMetricsDTO> getStaffDashboardMetrics() {
+    public ResponseEntity<StaffDashboardMetricsDTO> getStaffDashboardMetrics(WebRequest request) {
+        if (notModified(request, AnalyticsService.STAFF_DASHBOARD_SOURCES)) {
+            return null;
+        }
         StaffDashboardMetricsDTO metrics = analyticsService.getStaffDashboardMetrics();
-        return ResponseEntity.ok(metrics);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(metrics);
+    }
+
+    // Answers 304 Not Modified when none of the response's source tables have
+    // changed, before any DTO is built or serialised. Otherwise the ETag and
+    // Last-Modified headers are set for the full response.
+    private boolean notModified(WebRequest request, List<Class<?>> sources) {
+        AnalyticsSnapshotCache.Validators validators = snapshotCache.validatorsFor(sources);
+        if (request.checkNotModified(validators.etag(), validators.lastModified())) {
+            if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+                servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+            }
+            return true;
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,23 @@
 package com.mentalhealthhub.controller;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -19,13 +28,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mentalhealthhub.dto.WorkingHoursDto;
 import com.mentalhealthhub.model.Appointment;
 import com.mentalhealthhub.model.AppointmentStatus;
 import com.mentalhealthhub.model.User;
+import com.mentalhealthhub.model.UserRole;
 import com.mentalhealthhub.repository.AppointmentRepository;
 import com.mentalhealthhub.repository.UserRepository;
 import com.mentalhealthhub.service.AppointmentService;
+import com.mentalhealthhub.service.InAppReminderNotifier;
+import com.mentalhealthhub.service.SlotResolver;
+import com.mentalhealthhub.util.SlotTable;
 import com.mentalhealthhub.util.TimeSlotUtil;
 
 import jakarta.servlet.http.HttpSession;
@@ -34,17 +51,29 @@ import jakarta.servlet.http.HttpSession;
 @RequestMapping("/appointments")
 public class AppointmentController {
 
+    // Upper bound on windows returned by one free-slot search
+    private static final int MAX_FREE_SLOTS = 50;
+
     private final AppointmentRepository appointmentRepository;
     private final AppointmentService appointmentService;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final SlotResolver slotResolver;
+    private final InAppReminderNotifier inAppReminderNotifier;
 
     public AppointmentController(
             AppointmentRepository appointmentRepository,
             AppointmentService appointmentService,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            SlotResolver slotResolver,
+            InAppReminderNotifier inAppReminderNotifier) {
         this.appointmentRepository = appointmentRepository;
         this.appointmentService = appointmentService;
         this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.slotResolver = slotResolver;
+        this.inAppReminderNotifier = inAppReminderNotifier;
     }
 
     // Student View: List of appointments (approved and pending)
@@ -226,47 +255,9 @@ public class AppointmentController {
             return ResponseEntity.status(404).body(Map.of("error", "Student not found"));
         }
 
-        // Get available slots for the professional
-        List<TimeSlotUtil.TimeSlot> availableSlots = appointmentService.getAvailableTimeSlots(date, professional);
-
-        // Filter out past time slots if the selected date is today
-        LocalDate today = LocalDate.now();
-        if (date.equals(today)) {
-            LocalTime now = LocalTime.now();
-            availableSlots = availableSlots.stream()
-                    .filter(slot -> slot.getStartTime().isAfter(now))
-                    .collect(Collectors.toList());
-        }
-
-        // Filter out slots where the student already has an appointment on this date
-        List<TimeSlotUtil.TimeSlot> studentAppointments = appointmentService.getStudentAppointmentsForDate(student,
-                date);
-
-        availableSlots = availableSlots.stream()
-                .filter(slot -> !hasConflict(slot, studentAppointments))
-                .collect(Collectors.toList());
-
-        // Filter out slots where the student has a STUDENT_PROPOSED suggestion (pending
-        // counter-offer)
-        List<Appointment> studentProposals = appointmentRepository.findByStudentAndStatus(student,
-                AppointmentStatus.STUDENT_PROPOSED);
-        for (Appointment proposal : studentProposals) {
-            if (proposal.getSuggestedAppointmentDate() != null &&
-                    proposal.getSuggestedTimeSlotStart() != null &&
-                    proposal.getSuggestedTimeSlotEnd() != null &&
-                    proposal.getSuggestedAppointmentDate().equals(date)) {
-                LocalTime suggestedStart = proposal.getSuggestedTimeSlotStart();
-                LocalTime suggestedEnd = proposal.getSuggestedTimeSlotEnd();
-                availableSlots = availableSlots.stream()
-                        .filter(slot -> {
-                            // Check if slot overlaps with suggested time
-                            boolean overlaps = slot.getStartTime().isBefore(suggestedEnd) &&
-                                    slot.getEndTime().isAfter(suggestedStart);
-                            return !overlaps;
-                        })
-                        .collect(Collectors.toList());
-            }
-        }
+        // Professional and student appointments, pending counter-offers and past slots in one pass
+        List<TimeSlotUtil.TimeSlot> availableSlots = slotResolver.resolveFreeSlots(date, professional.getId(),
+                student.getId());
 
         List<Map<String, String>> slots = availableSlots.stream()
                 .map(slot -> Map.of(
@@ -277,7 +268,7 @@ public class AppointmentController {
 
         return ResponseEntity.ok(Map.of(
                 "slots", slots,
-                "allSlots", TimeSlotUtil.generateAllTimeSlots().stream()
+                "allSlots", appointmentService.getSlotTable(professional.getId(), date).slots().stream()
                         .map(slot -> Map.of(
                                 "start", slot.getStartTime().toString(),
                                 "end", slot.getEndTime().toString(),
@@ -285,25 +276,146 @@ public class AppointmentController {
                         .collect(Collectors.toList())));
     }
 
-    // Helper method to check if a slot conflicts with existing appointments
-    private boolean hasConflict(TimeSlotUtil.TimeSlot slot, List<TimeSlotUtil.TimeSlot> existingSlots) {
-        for (TimeSlotUtil.TimeSlot existing : existingSlots) {
-            // Check if slots overlap (they can be adjacent - start of one can equal end of
-            // other)
-            // Conflict occurs only if: slot overlaps with existing time range
-            // No conflict if: slot.end <= existing.start OR slot.start >= existing.end
-            if (!(slot.getEndTime().compareTo(existing.getStartTime()) <= 0 ||
-                    slot.getStartTime().compareTo(existing.getEndTime()) >= 0)) {
-                return true;
+    // AJAX: Earliest free windows across all professionals over a date range
+    @GetMapping("/api/next-free-slots")
+    @ResponseBody
+    public ResponseEntity<?> getNextFreeSlots(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "30") int duration,
+            @RequestParam(defaultValue = "10") int limit,
+            HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(13);
+        List<User> professionals = userRepository.findByRole(UserRole.PROFESSIONAL);
+        try {
+            List<AppointmentService.FreeSlot> freeSlots = appointmentService.findNextFreeSlots(user, professionals,
+                    start, end, duration, Math.min(limit, MAX_FREE_SLOTS));
+
+            List<Map<String, Object>> slots = freeSlots.stream()
+                    .map(free -> Map.<String, Object>of(
+                            "professionalId", free.professional().getId(),
+                            "professionalName", free.professional().getName(),
+                            "date", free.date().toString(),
+                            "start", free.slot().getStartTime().toString(),
+                            "end", free.slot().getEndTime().toString(),
+                            "display", free.slot().toString()))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(Map.of("slots", slots));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // AJAX: Month calendar of free/busy slots for one professional or the whole pool
+    @GetMapping("/api/calendar")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> getMonthCalendar(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) Long professionalId,
+            HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return jsonError(401, "Unauthorized");
+        }
+
+        List<Long> professionalIds;
+        if (professionalId != null) {
+            User professional = userRepository.findById(professionalId).orElse(null);
+            if (professional == null || professional.getRole() != UserRole.PROFESSIONAL) {
+                return jsonError(404, "Professional not found");
+            }
+            professionalIds = List.of(professionalId);
+        } else {
+            professionalIds = userRepository.findIdsByRole(UserRole.PROFESSIONAL).stream().sorted().toList();
+        }
+        Map<Long, int[]> occupancy = appointmentService.getMonthOccupancy(professionalIds, month);
+
+        // Each professional's day has its own slot table; tables are listed once and referenced by index
+        List<SlotTable> tables = new ArrayList<>();
+        Map<SlotTable, Integer> tableIndexes = new IdentityHashMap<>();
+        int[][] dayTables = new int[month.lengthOfMonth()][professionalIds.size()];
+        for (int d = 0; d < dayTables.length; d++) {
+            for (int p = 0; p < professionalIds.size(); p++) {
+                SlotTable table = appointmentService.getSlotTable(professionalIds.get(p), month.atDay(d + 1));
+                dayTables[d][p] = tableIndexes.computeIfAbsent(table, t -> {
+                    tables.add(t);
+                    return tables.size() - 1;
+                });
             }
         }
-        return false;
+
+        // Bit i of a mask is slot i of the table named at the same position; masks follow "professionalIds"
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeStringField("month", month.toString());
+                json.writeArrayFieldStart("tables");
+                for (SlotTable table : tables) {
+                    json.writeStartObject();
+                    json.writeNumberField("slotMinutes", table.getSlotMinutes());
+                    json.writeStringField("periods", table.getPeriods());
+                    json.writeArrayFieldStart("slots");
+                    for (TimeSlotUtil.TimeSlot slot : table.slots()) {
+                        json.writeString(slot.toString());
+                    }
+                    json.writeEndArray();
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeArrayFieldStart("professionalIds");
+                for (Long id : professionalIds) {
+                    json.writeNumber(id);
+                }
+                json.writeEndArray();
+                json.writeArrayFieldStart("days");
+                for (int d = 0; d < month.lengthOfMonth(); d++) {
+                    int free = 0;
+                    int busy = 0;
+                    json.writeStartObject();
+                    json.writeStringField("date", month.atDay(d + 1).toString());
+                    json.writeArrayFieldStart("tables");
+                    for (int index : dayTables[d]) {
+                        json.writeNumber(index);
+                    }
+                    json.writeEndArray();
+                    json.writeArrayFieldStart("busyMasks");
+                    for (int p = 0; p < professionalIds.size(); p++) {
+                        SlotTable table = tables.get(dayTables[d][p]);
+                        int mask = occupancy.get(professionalIds.get(p))[d] & table.allMask();
+                        free += table.size() - Integer.bitCount(mask);
+                        busy += Integer.bitCount(mask);
+                        json.writeNumber(mask);
+                    }
+                    json.writeEndArray();
+                    json.writeNumberField("free", free);
+                    json.writeNumberField("busy", busy);
+                    json.writeEndObject();
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Streaming endpoints cannot return a Map body, so errors are written the same way
+    private ResponseEntity<StreamingResponseBody> jsonError(int status, String message) {
+        StreamingResponseBody body = out -> objectMapper.writeValue(out, Map.of("error", message));
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     // AJAX: Validate continuous slots
     @PostMapping("/api/validate-slots")
     @ResponseBody
-    public ResponseEntity<?> validateSlots(@RequestParam List<String> slots) {
+    public ResponseEntity<?> validateSlots(@RequestParam List<String> slots,
+            @RequestParam(required = false) Long professionalId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         if (slots == null || slots.isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("valid", false, "error", "No slots selected"));
         }
@@ -321,7 +433,11 @@ public class AppointmentController {
                     })
                     .collect(Collectors.toList());
 
-            boolean isValid = appointmentService.validateContinuousSlots(selectedSlots);
+            // Checked against the professional's working hours when the booking form sends them
+            boolean isValid = professionalId != null && date != null
+                    ? appointmentService.validateContinuousSlots(selectedSlots,
+                            appointmentService.getSlotTable(professionalId, date))
+                    : appointmentService.validateContinuousSlots(selectedSlots);
 
             if (!isValid) {
                 return ResponseEntity.ok(Map.of(
@@ -331,7 +447,7 @@ public class AppointmentController {
 
             LocalTime startTime = TimeSlotUtil.getEarliestStartTime(selectedSlots);
             LocalTime endTime = TimeSlotUtil.getLatestEndTime(selectedSlots);
-            int durationMinutes = TimeSlotUtil.getTotalDurationMinutes(selectedSlots);
+            int durationMinutes = (int) Duration.between(startTime, endTime).toMinutes();
 
             return ResponseEntity.ok(Map.of(
                     "valid", true,
@@ -345,6 +461,54 @@ public class AppointmentController {
         }
     }
 
+    // Professional: Weekly working hours, one periods string per weekday
+    @GetMapping("/api/working-hours")
+    @ResponseBody
+    public ResponseEntity<?> getWorkingHours(HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+        if (user.getRole() != UserRole.PROFESSIONAL) {
+            return ResponseEntity.status(403).body(Map.of("error", "Only professionals have working hours"));
+        }
+
+        Map<String, Object> days = new LinkedHashMap<>();
+        appointmentService.getWorkingHours(user.getId()).forEach((day, table) -> days.put(day.name(), Map.of(
+                "slotMinutes", table.getSlotMinutes(),
+                "periods", table.getPeriods(),
+                "slots", table.size())));
+        return ResponseEntity.ok(Map.of("days", days));
+    }
+
+    // Professional: Replace weekly working hours; weekdays left out use the default schedule
+    @PostMapping("/api/working-hours")
+    @ResponseBody
+    public ResponseEntity<?> updateWorkingHours(
+            @org.springframework.web.bind.annotation.RequestBody WorkingHoursDto request,
+            HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+        if (user.getRole() != UserRole.PROFESSIONAL) {
+            return ResponseEntity.status(403).body(Map.of("error", "Only professionals have working hours"));
+        }
+
+        try {
+            Map<DayOfWeek, String> periodsByDay = new EnumMap<>(DayOfWeek.class);
+            if (request.days != null) {
+                request.days.forEach((day, periods) ->
+                        periodsByDay.put(DayOfWeek.valueOf(day.trim().toUpperCase()), periods));
+            }
+            int slotMinutes = request.slotMinutes != null ? request.slotMinutes : TimeSlotUtil.SLOT_DURATION_MINUTES;
+            appointmentService.updateWorkingHours(user, slotMinutes, periodsByDay);
+            return ResponseEntity.ok(Map.of("success", true, "message", "Working hours updated"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Professional: Approve appointment
     @PostMapping("/api/{id}/approve")
     @ResponseBody
@@ -464,6 +628,79 @@ public class AppointmentController {
                 .toList();
     }
 
+    // AJAX: Professional's schedule one keyset page at a time; pass the returned cursor to continue
+    @GetMapping("/api/schedule")
+    @ResponseBody
+    public ResponseEntity<?> scheduleApi(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<AppointmentStatus> status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime afterStart,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int size,
+            HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+        if (user.getRole() != UserRole.PROFESSIONAL) {
+            return ResponseEntity.status(403).body(Map.of("error", "Only professionals have a schedule"));
+        }
+
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(AppointmentService.SCHEDULE_WINDOW_DAYS);
+        Set<AppointmentStatus> statuses = status == null || status.isEmpty()
+                ? AppointmentService.ACTIVE_STATUSES
+                : EnumSet.copyOf(status);
+        AppointmentService.ScheduleCursor cursor = afterDate != null && afterStart != null && afterId != null
+                ? new AppointmentService.ScheduleCursor(afterDate, afterStart, afterId)
+                : AppointmentService.ScheduleCursor.start(start);
+        int pageSize = Math.max(1, Math.min(size, AppointmentService.SCHEDULE_PAGE_SIZE));
+
+        List<Object[]> rows = appointmentService.getProfessionalScheduleRows(user, statuses, start, end, cursor,
+                pageSize);
+        List<Map<String, Object>> appointments = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", row[0]);
+            item.put("date", row[1].toString());
+            item.put("startTime", row[2].toString());
+            item.put("endTime", row[3].toString());
+            item.put("status", row[4].toString());
+            item.put("studentId", row[5]);
+            item.put("studentName", row[6]);
+            appointments.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("appointments", appointments);
+        if (rows.size() == pageSize) {
+            Object[] last = rows.get(rows.size() - 1);
+            response.put("next", Map.of("afterDate", last[1].toString(), "afterStart", last[2].toString(),
+                    "afterId", last[0]));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    // AJAX: Reminders delivered to the current user, newest first
+    @GetMapping("/api/reminders")
+    @ResponseBody
+    public ResponseEntity<?> remindersApi(HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        List<Map<String, Object>> reminders = inAppReminderNotifier.recentReminders(user.getId()).stream()
+                .map(reminder -> Map.<String, Object>of(
+                        "appointmentId", reminder.appointmentId(),
+                        "startsAt", reminder.startsAt().toString(),
+                        "leadMinutes", reminder.leadMinutes()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(Map.of("reminders", reminders));
+    }
+
     // Delete appointment
     @DeleteMapping("/api/{id}")
     @ResponseBody
@@ -539,7 +776,7 @@ public class AppointmentController {
                 if (notes != null) {
                     appointment.setNotes(notes);
                 }
-                appointmentRepository.save(appointment);
+                appointmentService.saveAppointment(appointment);
             } else {
                 // Create appointment with PENDING status when professional proposes from report
                 // Student will then approve or reject with suggestion
@@ -549,7 +786,7 @@ public class AppointmentController {
                 // Set the report ID to link to this report
                 if (reportId != null && reportId > 0) {
                     appointment.setReportId(reportId);
-                    appointmentRepository.save(appointment);
+                    appointmentService.saveAppointment(appointment);
                 }
             }
 
@@ -639,86 +876,10 @@ public class AppointmentController {
                 return ResponseEntity.status(403).body(Map.of("error", "Unauthorized"));
             }
 
-            List<TimeSlotUtil.TimeSlot> availableSlots = appointmentService.getAvailableTimeSlots(date,
-                    appointment.getProfessional());
-
-            // Filter out past time slots if the selected date is today
-            LocalDate today = LocalDate.now();
-            if (date.equals(today)) {
-                LocalTime now = LocalTime.now();
-                availableSlots = availableSlots.stream()
-                        .filter(slot -> slot.getStartTime().isAfter(now))
-                        .collect(Collectors.toList());
-            }
-
-            // Filter out slots where the professional has other appointments
-            List<Appointment> professionalAppointments = appointmentRepository
-                    .findByAppointmentDateAndProfessionalAndStatus(
-                            date, appointment.getProfessional(), AppointmentStatus.APPROVED);
-            List<Appointment> pendingAppointments = appointmentRepository.findByAppointmentDateAndProfessionalAndStatus(
-                    date, appointment.getProfessional(), AppointmentStatus.PENDING);
-
-            List<Appointment> allConflicts = new ArrayList<>(professionalAppointments);
-            allConflicts.addAll(pendingAppointments);
-
-            for (Appointment conflict : allConflicts) {
-                // Skip the current appointment being evaluated
-                if (!conflict.getId().equals(appointmentId)) {
-                    LocalTime conflictStart = conflict.getTimeSlotStart();
-                    LocalTime conflictEnd = conflict.getTimeSlotEnd();
-                    availableSlots = availableSlots.stream()
-                            .filter(slot -> {
-                                // Check if slot overlaps with conflict
-                                boolean overlaps = slot.getStartTime().isBefore(conflictEnd) &&
-                                        slot.getEndTime().isAfter(conflictStart);
-                                return !overlaps;
-                            })
-                            .collect(Collectors.toList());
-                }
-            }
-
-            // Filter out professional's suggested times (when they propose a different
-            // appointment)
-            // If the professional has suggested times for this appointment, student cannot
-            // select those
-            if (appointment.getSuggestedTimeSlotStart() != null && appointment.getSuggestedTimeSlotEnd() != null) {
-                LocalTime suggestedStart = appointment.getSuggestedTimeSlotStart();
-                LocalTime suggestedEnd = appointment.getSuggestedTimeSlotEnd();
-                availableSlots = availableSlots.stream()
-                        .filter(slot -> {
-                            // Check if slot overlaps with professional's suggested times
-                            boolean overlaps = slot.getStartTime().isBefore(suggestedEnd) &&
-                                    slot.getEndTime().isAfter(suggestedStart);
-                            return !overlaps;
-                        })
-                        .collect(Collectors.toList());
-            }
-
-            // Also filter out student's own suggested times from OTHER appointments with
-            // the same professional
-            List<Appointment> studentOtherSuggestions = appointmentRepository.findByStudentAndStatus(student,
-                    AppointmentStatus.STUDENT_PROPOSED);
-            for (Appointment otherSuggestion : studentOtherSuggestions) {
-                // Skip the current appointment being evaluated
-                if (!otherSuggestion.getId().equals(appointmentId)) {
-                    if (otherSuggestion.getSuggestedAppointmentDate() != null &&
-                            otherSuggestion.getSuggestedAppointmentDate().equals(date) &&
-                            otherSuggestion.getSuggestedTimeSlotStart() != null &&
-                            otherSuggestion.getSuggestedTimeSlotEnd() != null) {
-
-                        LocalTime otherSuggestedStart = otherSuggestion.getSuggestedTimeSlotStart();
-                        LocalTime otherSuggestedEnd = otherSuggestion.getSuggestedTimeSlotEnd();
-                        availableSlots = availableSlots.stream()
-                                .filter(slot -> {
-                                    // Check if slot overlaps with other appointment's suggested times
-                                    boolean overlaps = slot.getStartTime().isBefore(otherSuggestedEnd) &&
-                                            slot.getEndTime().isAfter(otherSuggestedStart);
-                                    return !overlaps;
-                                })
-                                .collect(Collectors.toList());
-                    }
-                }
-            }
+            // The professional's and student's other bookings, the student's other
+            // counter-offers and the time already suggested on this appointment
+            List<TimeSlotUtil.TimeSlot> availableSlots = slotResolver.resolveFreeSlots(date,
+                    appointment.getProfessional().getId(), student.getId(), appointment);
 
             // Convert to JSON-friendly format
             var slotsList = availableSlots.stream()
@@ -784,7 +945,7 @@ public class AppointmentController {
             }
 
             appointment.setMeetingLink(meetingLink);
-            appointmentRepository.save(appointment);
+            appointmentService.saveAppointment(appointment);
 
             return ResponseEntity.ok(Map.of("success", true, "message", "Meeting link saved successfully"));
         } catch (Exception e) {
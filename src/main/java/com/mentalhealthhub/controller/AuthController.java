@@ -1,7 +1,6 @@
 package com.mentalhealthhub.controller;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
 import java.util.List;
@@ -15,19 +14,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import com.mentalhealthhub.model.Appointment;
-import com.mentalhealthhub.model.AppointmentStatus;
 import com.mentalhealthhub.model.EducationalModule;
 import com.mentalhealthhub.model.Report;
 import com.mentalhealthhub.model.SelfCare;
 import com.mentalhealthhub.model.SelfCareType;
 import com.mentalhealthhub.model.User;
 import com.mentalhealthhub.model.UserRole;
-import com.mentalhealthhub.repository.AppointmentRepository;
 import com.mentalhealthhub.repository.EducationalModuleRepository;
 import com.mentalhealthhub.repository.ModuleProgressRepository;
 import com.mentalhealthhub.repository.ReportRepository;
 import com.mentalhealthhub.repository.SelfCareRepository;
 import com.mentalhealthhub.repository.UserRepository;
+import com.mentalhealthhub.service.AppointmentService;
 import com.mentalhealthhub.service.UserService;
 
 import jakarta.servlet.http.HttpSession;
@@ -36,7 +34,7 @@ import jakarta.servlet.http.HttpSession;
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final AppointmentRepository appointmentRepository;
+    private final AppointmentService appointmentService;
     private final ReportRepository reportRepository;
     private final UserService userService;
     private final SelfCareRepository selfCareRepository;
@@ -45,14 +43,14 @@ public class AuthController {
 
     public AuthController(
             UserRepository userRepository,
-            AppointmentRepository appointmentRepository,
+            AppointmentService appointmentService,
             ReportRepository reportRepository,
             UserService userService,
             SelfCareRepository selfCareRepository,
             EducationalModuleRepository educationalModuleRepository,
             ModuleProgressRepository moduleProgressRepository) {
         this.userRepository = userRepository;
-        this.appointmentRepository = appointmentRepository;
+        this.appointmentService = appointmentService;
         this.reportRepository = reportRepository;
         this.userService = userService;
         this.selfCareRepository = selfCareRepository;
@@ -227,17 +225,7 @@ public class AuthController {
                 model.addAttribute("totalModules", totalModules);
                 model.addAttribute("remainingModules", remainingModules);
 
-                LocalDate today = LocalDate.now();
-                List<Appointment> studentAppointments = appointmentRepository.findByStudent(user);
-
-                Appointment nextAppointment = studentAppointments.stream()
-                        .filter(a -> a.getAppointmentDate() != null
-                                && a.getAppointmentDate().isAfter(today)
-                                && (a.getStatus() == null || a.getStatus() == AppointmentStatus.PENDING
-                                        || a.getStatus() == AppointmentStatus.APPROVED))
-                        .sorted(Comparator.comparing(Appointment::getAppointmentDate))
-                        .findFirst()
-                        .orElse(null);
+                Appointment nextAppointment = appointmentService.getNextStudentAppointment(user);
 
                 if (nextAppointment != null) {
                     DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM dd");
@@ -264,37 +252,18 @@ public class AuthController {
                 break;
             case PROFESSIONAL:
                 dashboardPage = "dashboard/professional-dashboard";
-                List<Appointment> profAppointments = appointmentRepository.findByProfessional(user);
                 LocalDate todayProf = LocalDate.now();
-                LocalDateTime now = LocalDateTime.now();
-                
-                List<Appointment> todayAppointments = profAppointments.stream()
-                        .filter(a -> a.getAppointmentDate() != null
-                                && a.getAppointmentDate().isEqual(todayProf)
-                                && a.getStatus() != null
-                                && (a.getStatus() == AppointmentStatus.APPROVED || a.getStatus() == AppointmentStatus.PENDING))
-                        .sorted(Comparator.comparing(Appointment::getTimeSlotStart))
-                        .collect(Collectors.toList());
+
+                // Today's page and two counts instead of the professional's whole history
+                List<Appointment> todayAppointments = appointmentService.getProfessionalSchedule(user,
+                        AppointmentService.ACTIVE_STATUSES, todayProf, todayProf,
+                        AppointmentService.ScheduleCursor.start(todayProf), AppointmentService.SCHEDULE_PAGE_SIZE);
 
                 long todayCount = todayAppointments.size();
-                long activeClients = profAppointments.stream()
-                        .filter(a -> a.getStudent() != null && a.getStudent().getId() != null)
-                        .map(a -> a.getStudent().getId())
-                        .distinct()
-                        .count();
+                long activeClients = appointmentService.countActiveClients(user);
 
                 // Sessions completed: approved appointments where end time has passed
-                long sessionsCompleted = profAppointments.stream()
-                        .filter(a -> a.getStatus() != null && a.getStatus() == AppointmentStatus.APPROVED
-                                && a.getAppointmentDate() != null && a.getTimeSlotEnd() != null)
-                        .filter(a -> {
-                            LocalDateTime appointmentEndDateTime = LocalDateTime.of(
-                                a.getAppointmentDate(),
-                                a.getTimeSlotEnd()
-                            );
-                            return appointmentEndDateTime.isBefore(now);
-                        })
-                        .count();
+                long sessionsCompleted = appointmentService.countCompletedSessions(user);
 
                 List<?> patientsList = userRepository.findAll().stream()
                         .filter(u -> u.getRole() == UserRole.STUDENT)
@@ -1,65 +1,80 @@
 package com.mentalhealthhub.controller;
 
-import com.mentalhealthhub.model.ForumComment;
+import com.mentalhealthhub.dto.ForumCommentDTO;
+import com.mentalhealthhub.dto.ForumSearchHitDTO;
 import com.mentalhealthhub.model.ForumPost;
 import com.mentalhealthhub.model.User;
-import com.mentalhealthhub.repository.ForumCommentRepository;
+import com.mentalhealthhub.model.UserRole;
 import com.mentalhealthhub.repository.ForumPostRepository;
+import com.mentalhealthhub.service.ForumHotThreads;
+import com.mentalhealthhub.service.ForumSearchIndex;
+import com.mentalhealthhub.service.ForumService;
+import com.mentalhealthhub.service.ForumViewCounter;
 import jakarta.servlet.http.HttpSession;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/forum")
 public class ForumController {
 
+    private static final int SEARCH_RESULTS = 50;
+
     private final ForumPostRepository forumPostRepository;
-    private final ForumCommentRepository commentRepository;
+    private final ForumViewCounter forumViewCounter;
+    private final ForumService forumService;
+    private final ForumSearchIndex forumSearchIndex;
+    private final ForumHotThreads forumHotThreads;
 
-    public ForumController(ForumPostRepository forumPostRepository, ForumCommentRepository commentRepository) {
+    public ForumController(ForumPostRepository forumPostRepository, ForumViewCounter forumViewCounter,
+            ForumService forumService, ForumSearchIndex forumSearchIndex, ForumHotThreads forumHotThreads) {
         this.forumPostRepository = forumPostRepository;
-        this.commentRepository = commentRepository;
+        this.forumViewCounter = forumViewCounter;
+        this.forumService = forumService;
+        this.forumSearchIndex = forumSearchIndex;
+        this.forumHotThreads = forumHotThreads;
     }
 
     @GetMapping
     public String listPosts(Model model, HttpSession session,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tab) {
         User user = (User) session.getAttribute("user");
         if (user == null) {
             return "redirect:/login";
         }
 
-        // Optimized: Get posts efficiently
-        List<ForumPost> posts;
-        if (category != null && !category.isEmpty() && !category.equals("All Topics")) {
-            posts = forumPostRepository.findByCategoryOrderByCreatedAtDesc(category);
-        } else {
-            posts = forumPostRepository.findAllByOrderByCreatedAtDesc();
-        }
-
-        // Limit to prevent lag (only show recent 50 posts)
-        if (posts.size() > 50) {
-            posts = posts.subList(0, 50);
-        }
-
-        // Calculate statistics efficiently - use count queries
-        long totalPosts = forumPostRepository.count();
+        // Hot tab: one page from the ranking. Latest: first keyset page; the
+        // page loads the following ones from /forum/api/feed
+        boolean hot = "hot".equals(tab);
+        List<ForumPost> posts = hot
+                ? forumService.getHotPosts(category, ForumService.FEED_PAGE_SIZE)
+                : forumService.getFeed(category, ForumService.FeedCursor.start(), ForumService.FEED_PAGE_SIZE);
+        ForumService.ForumTotals totals = forumService.getTotals();
         long userPosts = forumPostRepository.countByUser(user);
-        long totalInteractions = forumPostRepository.findAll().stream()
-                .mapToLong(p -> (long) p.getReplies())
-                .sum();
 
         model.addAttribute("posts", posts);
+        model.addAttribute("tab", hot ? "hot" : "latest");
+        if (!hot && posts.size() == ForumService.FEED_PAGE_SIZE) {
+            ForumPost last = posts.get(posts.size() - 1);
+            model.addAttribute("nextCreatedAt", last.getCreatedAt().toString());
+            model.addAttribute("nextId", last.getId());
+        }
         model.addAttribute("user", user);
         model.addAttribute("category", category);
-        model.addAttribute("totalPosts", totalPosts);
+        model.addAttribute("totalPosts", totals.posts());
         model.addAttribute("userPosts", userPosts);
-        model.addAttribute("totalInteractions", totalInteractions);
+        model.addAttribute("totalInteractions", totals.comments());
         model.addAttribute("page", "forum/list");
         model.addAttribute("title", "Peer Support Forum");
         model.addAttribute("activePage", "forum");
@@ -67,6 +82,48 @@ public class ForumController {
         return "layout";
     }
 
+    // AJAX: Next feed page for infinite scroll
+    @GetMapping("/api/feed")
+    @ResponseBody
+    public ResponseEntity<?> feed(@RequestParam(required = false) String category,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "" + ForumService.FEED_PAGE_SIZE) int size,
+            HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        ForumService.FeedCursor cursor = beforeCreatedAt != null && beforeId != null
+                ? new ForumService.FeedCursor(beforeCreatedAt, beforeId)
+                : ForumService.FeedCursor.start();
+        int pageSize = Math.max(1, Math.min(size, ForumService.MAX_FEED_PAGE_SIZE));
+        List<ForumPost> posts = forumService.getFeed(category, cursor, pageSize);
+        List<Map<String, Object>> items = new ArrayList<>(posts.size());
+        for (ForumPost post : posts) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", post.getId());
+            item.put("title", post.getTitle());
+            item.put("content", post.getContent());
+            item.put("category", post.getCategory());
+            item.put("createdAt", post.getCreatedAt().toString());
+            item.put("replies", post.getReplies());
+            item.put("views", post.getViews());
+            items.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("posts", items);
+        // A short page is the last one
+        if (posts.size() == pageSize) {
+            ForumPost last = posts.get(posts.size() - 1);
+            response.put("next", Map.of("beforeCreatedAt", last.getCreatedAt().toString(),
+                    "beforeId", last.getId()));
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public String viewPost(@PathVariable Long id, Model model, HttpSession session) {
         User user = (User) session.getAttribute("user");
@@ -79,19 +136,22 @@ public class ForumController {
             return "redirect:/forum";
         }
 
-        // Increment views
-        post.setViews(post.getViews() + 1);
-        forumPostRepository.save(post);
-
-        // Get comments
-        List<ForumComment> comments = commentRepository.findByPostOrderByCreatedAtAsc(post);
+        // Views are buffered and written behind; replies only change with comments
+        forumViewCounter.recordView(post.getId());
+        forumHotThreads.recordView(post);
 
-        // Update replies count
-        post.setReplies(comments.size());
-        forumPostRepository.save(post);
+        // First page of the thread; the page loads the following ones from /forum/{id}/api/comments
+        List<ForumCommentDTO> comments = forumService.getThreadPage(post.getId(),
+                ForumService.ThreadCursor.start(), ForumService.COMMENT_PAGE_SIZE);
 
         model.addAttribute("post", post);
+        model.addAttribute("views", post.getViews() + forumViewCounter.pendingViews(post.getId()));
         model.addAttribute("comments", comments);
+        if (comments.size() == ForumService.COMMENT_PAGE_SIZE) {
+            ForumService.ThreadCursor next = ForumService.ThreadCursor.after(comments.get(comments.size() - 1));
+            model.addAttribute("nextCommentCreatedAt", next.createdAt().toString());
+            model.addAttribute("nextCommentId", next.id());
+        }
         model.addAttribute("user", user);
         model.addAttribute("page", "forum/view");
         model.addAttribute("title", post.getTitle());
@@ -100,6 +160,79 @@ public class ForumController {
         return "layout";
     }
 
+    // AJAX: Next page of a post's comments
+    @GetMapping("/{id}/api/comments")
+    @ResponseBody
+    public ResponseEntity<?> comments(@PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedAt,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "" + ForumService.COMMENT_PAGE_SIZE) int size,
+            HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        ForumService.ThreadCursor cursor = afterCreatedAt != null && afterId != null
+                ? new ForumService.ThreadCursor(afterCreatedAt, afterId)
+                : ForumService.ThreadCursor.start();
+        int pageSize = Math.max(1, Math.min(size, ForumService.MAX_COMMENT_PAGE_SIZE));
+        List<ForumCommentDTO> comments = forumService.getThreadPage(id, cursor, pageSize);
+        List<Map<String, Object>> items = new ArrayList<>(comments.size());
+        for (ForumCommentDTO comment : comments) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", comment.getId());
+            item.put("content", comment.getContent());
+            item.put("createdAt", comment.getCreatedAt().toString());
+            items.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("comments", items);
+        // A short page is the last one
+        if (comments.size() == pageSize) {
+            ForumService.ThreadCursor next = ForumService.ThreadCursor.after(comments.get(comments.size() - 1));
+            response.put("next", Map.of("afterCreatedAt", next.createdAt().toString(), "afterId", next.id()));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    public String search(Model model, HttpSession session,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category) {
+        User user = (User) session.getAttribute("user");
+        if (user == null) {
+            return "redirect:/login";
+        }
+
+        List<ForumSearchHitDTO> results = forumSearchIndex.search(q, category, SEARCH_RESULTS);
+
+        model.addAttribute("results", results);
+        model.addAttribute("q", q);
+        model.addAttribute("category", category);
+        model.addAttribute("user", user);
+        model.addAttribute("page", "forum/search");
+        model.addAttribute("title", "Search Forum");
+        model.addAttribute("activePage", "forum");
+
+        return "layout";
+    }
+
+    // Admin: Regenerate the search index from the database
+    @PostMapping("/api/search/rebuild")
+    @ResponseBody
+    public ResponseEntity<?> rebuildSearchIndex(HttpSession session) {
+        User user = (User) session.getAttribute("user");
+        if (user == null || user.getRole() != UserRole.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("error", "Forbidden"));
+        }
+
+        // Runs in the background; large forums take a while
+        forumSearchIndex.requestRebuild();
+        return ResponseEntity.accepted().body(Map.of("message", "Search index rebuild started"));
+    }
+
     @GetMapping("/new")
     public String newPost(Model model, HttpSession session) {
         User user = (User) session.getAttribute("user");
@@ -126,18 +259,8 @@ public class ForumController {
             return "redirect:/login";
         }
 
-        ForumPost post = ForumPost.builder()
-                .user(user)
-                .title(title)
-                .content(content)
-                .category(category != null && !category.isEmpty() ? category : "General")
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .views(0)
-                .replies(0)
-                .build();
-
-        forumPostRepository.save(post);
+        forumService.createPost(user, title, content,
+                category != null && !category.isEmpty() ? category : "General");
         redirectAttributes.addFlashAttribute("success", "Your post has been published successfully! 🎉");
 
         return "redirect:/forum";
@@ -158,18 +281,7 @@ public class ForumController {
             return "redirect:/forum";
         }
 
-        ForumComment comment = new ForumComment();
-        comment.setPost(post);
-        comment.setUser(user);
-        comment.setContent(content);
-        comment.setCreatedAt(LocalDateTime.now());
-        comment.setUpdatedAt(LocalDateTime.now());
-
-        commentRepository.save(comment);
-
-        // Update replies count
-        post.setReplies(commentRepository.countByPost(post).intValue());
-        forumPostRepository.save(post);
+        forumService.addComment(post, user, content);
 
         redirectAttributes.addFlashAttribute("success", "Comment posted successfully!");
 
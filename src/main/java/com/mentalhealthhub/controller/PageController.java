@@ -20,6 +20,7 @@ import com.mentalhealthhub.repository.AppointmentRepository;
 import com.mentalhealthhub.repository.AssessmentRepository;
 import com.mentalhealthhub.repository.ReportRepository;
 import com.mentalhealthhub.repository.UserRepository;
+import com.mentalhealthhub.service.AppointmentService;
 import com.mentalhealthhub.service.AssessmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -38,10 +39,12 @@ public class PageController {
     private final AssessmentRepository assessmentRepository;
     private final UserService userService;
     private final AnalyticsService analyticsService;
+    private final AppointmentService appointmentService;
 
     public PageController(ReportRepository reportRepository, AppointmentRepository appointmentRepository,
             AssessmentService assessmentService, UserRepository userRepository,
-            AssessmentRepository assessmentRepository, UserService userService, AnalyticsService analyticsService) {
+            AssessmentRepository assessmentRepository, UserService userService, AnalyticsService analyticsService,
+            AppointmentService appointmentService) {
         this.reportRepository = reportRepository;
         this.appointmentRepository = appointmentRepository;
         this.assessmentService = assessmentService;
@@ -49,6 +52,7 @@ public class PageController {
         this.assessmentRepository = assessmentRepository;
         this.userService = userService;
         this.analyticsService = analyticsService;
+        this.appointmentService = appointmentService;
     }
 
     @GetMapping("/settings")
@@ -322,7 +326,7 @@ public class PageController {
             appointment.setNotes(notes);
             appointment.setCreatedAt(LocalDateTime.now());
 
-            appointmentRepository.save(appointment);
+            appointmentService.saveAppointment(appointment);
 
             // Update report status to scheduled
             report.setStatus("scheduled");
@@ -11,6 +11,8 @@ public class ComprehensiveAnalyticsDTO {
     private AdminActivityDTO adminActivity;
     private java.util.Map<Long, Double> engagementRates;
     private java.util.List<com.mentalhealthhub.dto.EngagementRateDTO> engagementList;
+    // Names of sections that failed or timed out; those fields are left null
+    private java.util.List<String> failedSections;
 
     public ComprehensiveAnalyticsDTO() {}
 
@@ -94,4 +96,12 @@ public class ComprehensiveAnalyticsDTO {
     public void setEngagementList(java.util.List<com.mentalhealthhub.dto.EngagementRateDTO> engagementList) {
         this.engagementList = engagementList;
     }
+
+    public java.util.List<String> getFailedSections() {
+        return failedSections;
+    }
+
+    public void setFailedSections(java.util.List<String> failedSections) {
+        this.failedSections = failedSections;
+    }
 }
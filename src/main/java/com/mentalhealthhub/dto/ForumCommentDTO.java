@@ -0,0 +1,42 @@
+package com.mentalhealthhub.dto;
+
+import java.time.LocalDateTime;
+
+public class ForumCommentDTO {
+    private Long id;
+    private String content;
+    private LocalDateTime createdAt;
+
+    public ForumCommentDTO() {}
+
+    public ForumCommentDTO(Long id, String content, LocalDateTime createdAt) {
+        this.id = id;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.mentalhealthhub.dto;
+
+import java.util.Map;
+
+public class WorkingHoursDto {
+    public Integer slotMinutes;
+    // Weekday name (MONDAY..SUNDAY) to periods such as "09:00-12:00,13:00-17:00"; blank for a day off
+    public Map<String, String> days;
+}
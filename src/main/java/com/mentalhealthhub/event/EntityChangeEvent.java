@@ -0,0 +1,66 @@
+package com.mentalhealthhub.event;
+
+/**
+ * Published after a transaction that inserted, updated or deleted an entity
+ * has committed. Listeners receive the entity instance as it was flushed and,
+ * for updates, the property values it had before the change.
+ */
+public class EntityChangeEvent {
+
+    public enum ChangeType {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    private final ChangeType changeType;
+    private final Object entity;
+    private final String[] propertyNames;
+    private final Object[] previousState;
+
+    public EntityChangeEvent(ChangeType changeType, Object entity, String[] propertyNames, Object[] previousState) {
+        this.changeType = changeType;
+        this.entity = entity;
+        this.propertyNames = propertyNames;
+        this.previousState = previousState;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    public Class<?> getEntityType() {
+        return entity.getClass();
+    }
+
+    public boolean isFor(Class<?> type) {
+        return type.isInstance(entity);
+    }
+
+    /**
+     * True for updates where Hibernate supplied the pre-update snapshot.
+     */
+    public boolean hasPreviousState() {
+        return previousState != null && propertyNames != null;
+    }
+
+    /**
+     * Value a property had before an update, or null for inserts, deletes and
+     * unknown properties.
+     */
+    public Object getPreviousValue(String propertyName) {
+        if (previousState == null || propertyNames == null) {
+            return null;
+        }
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (propertyNames[i].equals(propertyName)) {
+                return previousState[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.mentalhealthhub.event;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Bridges Hibernate post-commit entity events to Spring application events,
+ * so caches and counters can follow writes without every controller having
+ * to notify them. Bulk JPQL/native updates bypass these events.
+ */
+@Component
+public class EntityChangeEventPublisher implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityChangeEventPublisher.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EntityChangeEventPublisher(EntityManagerFactory entityManagerFactory,
+            ApplicationEventPublisher eventPublisher) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(new EntityChangeEvent(EntityChangeEvent.ChangeType.INSERT, event.getEntity(), null, null));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(new EntityChangeEvent(EntityChangeEvent.ChangeType.UPDATE, event.getEntity(),
+                event.getPersister().getPropertyNames(), event.getOldState()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(new EntityChangeEvent(EntityChangeEvent.ChangeType.DELETE, event.getEntity(), null, null));
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was published for the rolled-back insert
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was published for the rolled-back update
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was published for the rolled-back delete
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void publish(EntityChangeEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            // The write has already committed; a failing listener must not surface to the caller
+            logger.error("Error handling " + event.getChangeType() + " of " + event.getEntityType().getSimpleName(), e);
+        }
+    }
+}
@@ -11,12 +11,19 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        @Index(name = "idx_appointments_professional_schedule",
+                columnList = "professional_id, appointment_date, time_slot_start"),
+        @Index(name = "idx_appointments_student_schedule",
+                columnList = "student_id, appointment_date, time_slot_start"),
+        @Index(name = "idx_appointments_professional_conflict",
+                columnList = "professional_id, appointment_date, status, time_slot_start") })
 public class Appointment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
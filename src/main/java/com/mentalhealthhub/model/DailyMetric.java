@@ -0,0 +1,74 @@
+package com.mentalhealthhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * One pre-aggregated value per (metric, day, dimension). An empty dimension
+ * holds the total for the whole platform.
+ */
+@Entity
+@Table(name = "daily_metrics",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_metrics_key",
+                columnNames = { "metric", "metric_date", "dimension" }))
+public class DailyMetric {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private DailyMetricType metric;
+
+    @Column(name = "metric_date", nullable = false)
+    private LocalDate metricDate;
+
+    @Column(nullable = false, length = 64)
+    private String dimension = "";
+
+    @Column(name = "metric_value", nullable = false)
+    private Long metricValue = 0L;
+
+    public DailyMetric() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public DailyMetricType getMetric() {
+        return metric;
+    }
+
+    public void setMetric(DailyMetricType metric) {
+        this.metric = metric;
+    }
+
+    public LocalDate getMetricDate() {
+        return metricDate;
+    }
+
+    public void setMetricDate(LocalDate metricDate) {
+        this.metricDate = metricDate;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public Long getMetricValue() {
+        return metricValue;
+    }
+
+    public void setMetricValue(Long metricValue) {
+        this.metricValue = metricValue;
+    }
+}
@@ -0,0 +1,16 @@
+package com.mentalhealthhub.model;
+
+/**
+ * Metrics kept in the daily_metrics rollup table. Each value is a per-day
+ * total that trend charts add up over their window.
+ */
+public enum DailyMetricType {
+    USER_REGISTERED,
+    ASSESSMENT_COMPLETED,
+    ASSESSMENT_SCORED,      // assessments with a total score (denominator for the average)
+    ASSESSMENT_SCORE_SUM,   // sum of total scores
+    MODULE_COMPLETED,
+    REPORT_SUBMITTED,
+    REPORT_RESOLVED,
+    APPOINTMENT_APPROVED
+}
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "forum_comments")
+@Table(name = "forum_comments", indexes = {
+        @Index(name = "idx_forum_comments_thread", columnList = "post_id, created_at, id") })
 public class ForumComment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
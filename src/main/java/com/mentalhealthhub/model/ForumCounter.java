@@ -0,0 +1,38 @@
+package com.mentalhealthhub.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One forum-wide total, changed in the same transaction as the posts and
+ * comments it counts so the forum page never has to count them.
+ */
+@Entity
+@Table(name = "forum_counters")
+public class ForumCounter {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40)
+    private ForumCounterType name;
+
+    @Column(name = "counter_value", nullable = false)
+    private Long counterValue = 0L;
+
+    public ForumCounter() {
+    }
+
+    public ForumCounterType getName() {
+        return name;
+    }
+
+    public void setName(ForumCounterType name) {
+        this.name = name;
+    }
+
+    public Long getCounterValue() {
+        return counterValue;
+    }
+
+    public void setCounterValue(Long counterValue) {
+        this.counterValue = counterValue;
+    }
+}
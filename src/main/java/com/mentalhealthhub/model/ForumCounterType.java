@@ -0,0 +1,9 @@
+package com.mentalhealthhub.model;
+
+/**
+ * Forum-wide totals kept in the forum_counters table.
+ */
+public enum ForumCounterType {
+    POSTS,
+    COMMENTS
+}
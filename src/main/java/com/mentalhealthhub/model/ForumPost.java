@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "forum_posts")
+@Table(name = "forum_posts", indexes = {
+        @Index(name = "idx_forum_posts_feed", columnList = "created_at, id"),
+        @Index(name = "idx_forum_posts_category_feed", columnList = "category, created_at, id") })
 public class ForumPost {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
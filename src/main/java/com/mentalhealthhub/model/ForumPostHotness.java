@@ -0,0 +1,52 @@
+package com.mentalhealthhub.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Checkpointed hotness of a post in the forum's hot-threads candidate set.
+ * The score is the base-2 logarithm of the post's decayed activity in a
+ * fixed time frame (see ForumHotThreads), so rows need no rewriting as
+ * time passes.
+ */
+@Entity
+@Table(name = "forum_post_hotness")
+public class ForumPostHotness {
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "log_score", nullable = false)
+    private Double logScore;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+
+    public ForumPostHotness() {
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+
+    public Double getLogScore() {
+        return logScore;
+    }
+
+    public void setLogScore(Double logScore) {
+        this.logScore = logScore;
+    }
+
+    public LocalDateTime getCheckpointedAt() {
+        return checkpointedAt;
+    }
+
+    public void setCheckpointedAt(LocalDateTime checkpointedAt) {
+        this.checkpointedAt = checkpointedAt;
+    }
+}
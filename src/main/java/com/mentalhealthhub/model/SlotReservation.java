@@ -0,0 +1,88 @@
+package com.mentalhealthhub.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One booked slot of a professional's day, held by a pending or
+ * approved appointment. The unique key makes the database reject a second
+ * booking of the same slot.
+ */
+@Entity
+@Table(name = "slot_reservations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_slot_reservations_slot",
+                columnNames = { "professional_id", "slot_date", "slot_index" }),
+        indexes = @Index(name = "idx_slot_reservations_appointment", columnList = "appointment_id"))
+public class SlotReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "appointment_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Appointment appointment;
+
+    @Column(name = "professional_id", nullable = false)
+    private Long professionalId;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    // Position of the slot in the professional's SlotTable for that day
+    @Column(name = "slot_index", nullable = false)
+    private Integer slotIndex;
+
+    public SlotReservation() {
+    }
+
+    public SlotReservation(Appointment appointment, Long professionalId, LocalDate slotDate, Integer slotIndex) {
+        this.appointment = appointment;
+        this.professionalId = professionalId;
+        this.slotDate = slotDate;
+        this.slotIndex = slotIndex;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Appointment getAppointment() {
+        return appointment;
+    }
+
+    public void setAppointment(Appointment appointment) {
+        this.appointment = appointment;
+    }
+
+    public Long getProfessionalId() {
+        return professionalId;
+    }
+
+    public void setProfessionalId(Long professionalId) {
+        this.professionalId = professionalId;
+    }
+
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    public void setSlotDate(LocalDate slotDate) {
+        this.slotDate = slotDate;
+    }
+
+    public Integer getSlotIndex() {
+        return slotIndex;
+    }
+
+    public void setSlotIndex(Integer slotIndex) {
+        this.slotIndex = slotIndex;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mentalhealthhub.model;
+
+import jakarta.persistence.*;
+import java.time.DayOfWeek;
+
+/**
+ * A professional's working periods on one weekday, e.g.
+ * "08:00-12:00,13:00-16:00" cut into slots of {@code slotMinutes}. An empty
+ * string is a day off; weekdays without a row use the default schedule.
+ */
+@Entity
+@Table(name = "working_hours",
+        uniqueConstraints = @UniqueConstraint(name = "uk_working_hours_day",
+                columnNames = { "professional_id", "day_of_week" }))
+public class WorkingHours {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "professional_id", nullable = false)
+    private Long professionalId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private String periods;
+
+    @Column(name = "slot_minutes", nullable = false)
+    private Integer slotMinutes;
+
+    public WorkingHours() {
+    }
+
+    public WorkingHours(Long professionalId, DayOfWeek dayOfWeek, String periods, Integer slotMinutes) {
+        this.professionalId = professionalId;
+        this.dayOfWeek = dayOfWeek;
+        this.periods = periods;
+        this.slotMinutes = slotMinutes;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProfessionalId() {
+        return professionalId;
+    }
+
+    public void setProfessionalId(Long professionalId) {
+        this.professionalId = professionalId;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public String getPeriods() {
+        return periods;
+    }
+
+    public void setPeriods(String periods) {
+        this.periods = periods;
+    }
+
+    public Integer getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(Integer slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+}
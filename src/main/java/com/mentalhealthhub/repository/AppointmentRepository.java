@@ -2,8 +2,10 @@ package com.mentalhealthhub.repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -43,23 +45,162 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     List<Appointment> findByAppointmentDateAndProfessionalAndStatus(LocalDate date, User professional, AppointmentStatus status);
     List<Appointment> findByAppointmentDateAndStudentAndStatus(LocalDate date, User student, AppointmentStatus status);
     
-    // Query to find occupied slots by professional ID
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentDate = :date AND a.professional.id = :professionalId AND a.status = :status")
-    List<Appointment> findByAppointmentDateAndProfessionalIdAndStatus(
+    // Intervals that block a professional's day (pending or approved), for availability masks
+    @Query("SELECT a.timeSlotStart, a.timeSlotEnd FROM Appointment a WHERE a.appointmentDate = :date " +
+           "AND a.professional.id = :professionalId AND a.status IN ('PENDING', 'APPROVED')")
+    List<Object[]> findOccupiedIntervals(
+        @Param("date") LocalDate date,
+        @Param("professionalId") Long professionalId
+    );
+
+    // Same intervals for several professionals over a date range, in one round-trip
+    @Query("SELECT a.professional.id, a.appointmentDate, a.timeSlotStart, a.timeSlotEnd FROM Appointment a " +
+           "WHERE a.appointmentDate BETWEEN :from AND :to AND a.professional.id IN :professionalIds " +
+           "AND a.status IN ('PENDING', 'APPROVED')")
+    List<Object[]> findOccupiedIntervalsInRange(
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("professionalIds") List<Long> professionalIds
+    );
+
+    // A student's own pending and approved appointments over a date range
+    @Query("SELECT a.appointmentDate, a.timeSlotStart, a.timeSlotEnd FROM Appointment a " +
+           "WHERE a.appointmentDate BETWEEN :from AND :to AND a.student = :student " +
+           "AND a.status IN ('PENDING', 'APPROVED')")
+    List<Object[]> findStudentIntervalsInRange(
+        @Param("student") User student,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to
+    );
+
+    // Everything that can block a student's booking with a professional on one day:
+    // pending/approved appointments of either party, and the student's open counter-proposals
+    @Query("SELECT a.id, a.status, a.timeSlotStart, a.timeSlotEnd, " +
+           "a.suggestedAppointmentDate, a.suggestedTimeSlotStart, a.suggestedTimeSlotEnd FROM Appointment a " +
+           "WHERE (a.appointmentDate = :date AND a.status IN ('PENDING', 'APPROVED') " +
+           "AND (a.professional.id = :professionalId OR a.student.id = :studentId)) " +
+           "OR (a.student.id = :studentId AND a.status = 'STUDENT_PROPOSED' AND a.suggestedAppointmentDate = :date)")
+    List<Object[]> findSlotConstraints(
         @Param("date") LocalDate date,
         @Param("professionalId") Long professionalId,
-        @Param("status") AppointmentStatus status
+        @Param("studentId") Long studentId
     );
-    
-    // Check for occupied slots
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentDate = :date AND a.professional = :professional " +
-           "AND a.status IN ('PENDING', 'APPROVED') " +
-           "AND ((a.timeSlotStart < :slotEnd AND a.timeSlotEnd > :slotStart))")
-    List<Appointment> findConflictingAppointments(
+
+    // Every slot-holding appointment, oldest first, for rebuilding the reservation ledger
+    @Query("SELECT a.id, a.professional.id, a.appointmentDate, a.timeSlotStart, a.timeSlotEnd FROM Appointment a " +
+           "WHERE a.professional IS NOT NULL AND a.status IN ('PENDING', 'APPROVED') ORDER BY a.id")
+    List<Object[]> findSlotHoldingIntervals();
+
+    // Same rows for one professional, for re-slotting after a working hours change
+    @Query("SELECT a.id, a.professional.id, a.appointmentDate, a.timeSlotStart, a.timeSlotEnd FROM Appointment a " +
+           "WHERE a.professional.id = :professionalId AND a.status IN ('PENDING', 'APPROVED') ORDER BY a.id")
+    List<Object[]> findSlotHoldingIntervalsByProfessional(@Param("professionalId") Long professionalId);
+
+    // All of a professional's appointments in a status set, in schedule order, with student and professional
+    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.student LEFT JOIN FETCH a.professional " +
+           "WHERE a.professional.id = :professionalId AND a.status IN :statuses " +
+           "ORDER BY a.appointmentDate, a.timeSlotStart, a.id")
+    List<Appointment> findProfessionalSchedule(
+        @Param("professionalId") Long professionalId,
+        @Param("statuses") Collection<AppointmentStatus> statuses
+    );
+
+    // Same list for a student's appointments
+    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.student LEFT JOIN FETCH a.professional " +
+           "WHERE a.student.id = :studentId AND a.status IN :statuses " +
+           "ORDER BY a.appointmentDate, a.timeSlotStart, a.id")
+    List<Appointment> findStudentSchedule(
+        @Param("studentId") Long studentId,
+        @Param("statuses") Collection<AppointmentStatus> statuses
+    );
+
+    // Keyset page of a professional's appointments in a status set and date window, in schedule order.
+    // Rows come after the cursor (date, start, id); student and professional are fetched in the same query
+    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.student LEFT JOIN FETCH a.professional " +
+           "WHERE a.professional.id = :professionalId AND a.status IN :statuses " +
+           "AND a.appointmentDate BETWEEN :from AND :to " +
+           "AND (a.appointmentDate > :afterDate OR (a.appointmentDate = :afterDate " +
+           "AND (a.timeSlotStart > :afterStart OR (a.timeSlotStart = :afterStart AND a.id > :afterId)))) " +
+           "ORDER BY a.appointmentDate, a.timeSlotStart, a.id")
+    List<Appointment> findProfessionalSchedulePage(
+        @Param("professionalId") Long professionalId,
+        @Param("statuses") Collection<AppointmentStatus> statuses,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("afterDate") LocalDate afterDate,
+        @Param("afterStart") LocalTime afterStart,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    // Same page for a student's appointments
+    @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.student LEFT JOIN FETCH a.professional " +
+           "WHERE a.student.id = :studentId AND a.status IN :statuses " +
+           "AND a.appointmentDate BETWEEN :from AND :to " +
+           "AND (a.appointmentDate > :afterDate OR (a.appointmentDate = :afterDate " +
+           "AND (a.timeSlotStart > :afterStart OR (a.timeSlotStart = :afterStart AND a.id > :afterId)))) " +
+           "ORDER BY a.appointmentDate, a.timeSlotStart, a.id")
+    List<Appointment> findStudentSchedulePage(
+        @Param("studentId") Long studentId,
+        @Param("statuses") Collection<AppointmentStatus> statuses,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("afterDate") LocalDate afterDate,
+        @Param("afterStart") LocalTime afterStart,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    // Lightweight rows of the professional page: id, date, start, end, status, student id, student name
+    @Query("SELECT a.id, a.appointmentDate, a.timeSlotStart, a.timeSlotEnd, a.status, s.id, s.name " +
+           "FROM Appointment a LEFT JOIN a.student s " +
+           "WHERE a.professional.id = :professionalId AND a.status IN :statuses " +
+           "AND a.appointmentDate BETWEEN :from AND :to " +
+           "AND (a.appointmentDate > :afterDate OR (a.appointmentDate = :afterDate " +
+           "AND (a.timeSlotStart > :afterStart OR (a.timeSlotStart = :afterStart AND a.id > :afterId)))) " +
+           "ORDER BY a.appointmentDate, a.timeSlotStart, a.id")
+    List<Object[]> findProfessionalScheduleRows(
+        @Param("professionalId") Long professionalId,
+        @Param("statuses") Collection<AppointmentStatus> statuses,
+        @Param("from") LocalDate from,
+        @Param("to") LocalDate to,
+        @Param("afterDate") LocalDate afterDate,
+        @Param("afterStart") LocalTime afterStart,
+        @Param("afterId") Long afterId,
+        Pageable pageable
+    );
+
+    // Distinct students a professional has appointments with
+    @Query("SELECT COUNT(DISTINCT a.student.id) FROM Appointment a WHERE a.professional.id = :professionalId")
+    long countDistinctStudentsByProfessional(@Param("professionalId") Long professionalId);
+
+    // Approved appointments of a professional that ended before now
+    @Query("SELECT COUNT(a) FROM Appointment a WHERE a.professional.id = :professionalId AND a.status = 'APPROVED' " +
+           "AND (a.appointmentDate < :today OR (a.appointmentDate = :today AND a.timeSlotEnd < :now))")
+    long countCompletedSessions(
+        @Param("professionalId") Long professionalId,
+        @Param("today") LocalDate today,
+        @Param("now") LocalTime now
+    );
+
+    // Approved appointments from a date on, as (id, student id, professional id, date, start) for reminders
+    @Query("SELECT a.id, a.student.id, a.professional.id, a.appointmentDate, a.timeSlotStart FROM Appointment a " +
+           "WHERE a.status = 'APPROVED' AND a.appointmentDate >= :from")
+    List<Object[]> findApprovedStartsFrom(@Param("from") LocalDate from);
+
+    // Whether an appointment in one of the statuses, other than excludeId, overlaps [slotStart, slotEnd);
+    // one probe of idx_appointments_professional_conflict
+    @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.professional.id = :professionalId " +
+           "AND a.appointmentDate = :date AND a.status IN :statuses " +
+           "AND a.timeSlotStart < :slotEnd AND a.timeSlotEnd > :slotStart " +
+           "AND (:excludeId IS NULL OR a.id <> :excludeId)")
+    boolean existsOverlappingAppointment(
+        @Param("professionalId") Long professionalId,
         @Param("date") LocalDate date,
-        @Param("professional") User professional,
+        @Param("statuses") Collection<AppointmentStatus> statuses,
         @Param("slotStart") LocalTime slotStart,
-        @Param("slotEnd") LocalTime slotEnd
+        @Param("slotEnd") LocalTime slotEnd,
+        @Param("excludeId") Long excludeId
     );
 
     // Analytics queries for admin dashboard
@@ -75,15 +216,6 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a.professional.id, COUNT(a) FROM Appointment a WHERE a.professional IS NOT NULL GROUP BY a.professional.id ORDER BY COUNT(a) DESC")
     List<Object[]> getProfessionalWorkload();
 
-    @Query(value = """
-        SELECT DATE_FORMAT(appointment_date, '%Y-%m') AS month, COUNT(*) as count
-        FROM appointments
-        WHERE status = 'APPROVED'
-        GROUP BY DATE_FORMAT(appointment_date, '%Y-%m')
-        ORDER BY month DESC
-    """, nativeQuery = true)
-    List<Object[]> getMonthlyCompletedAppointments();
-
     @Query("SELECT a FROM Appointment a WHERE a.appointmentDate >= :startDate AND a.appointmentDate <= :endDate ORDER BY a.appointmentDate DESC")
     List<Appointment> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
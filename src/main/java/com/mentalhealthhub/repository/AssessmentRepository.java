@@ -8,7 +8,6 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 @Repository
@@ -44,19 +43,4 @@ public interface AssessmentRepository extends JpaRepository<Assessment, Long> {
             "FROM assessments",
             nativeQuery = true)
     Object getScoreDistribution();
-
-    @Query(value = "SELECT DATE_FORMAT(completed_at, '%Y-%m') AS month, COUNT(*) as count " +
-            "FROM assessments " +
-            "GROUP BY DATE_FORMAT(completed_at, '%Y-%m') " +
-            "ORDER BY month DESC",
-            nativeQuery = true)
-    List<Object[]> getMonthlyCompletionTrend();
-
-    @Query(value = "SELECT DATE_FORMAT(completed_at, '%Y-%m-%d') AS month, AVG(total_score) as avgScore " +
-            "FROM assessments " +
-            "WHERE completed_at >= DATE_SUB(NOW(), INTERVAL 30 DAY) " +
-            "GROUP BY DATE_FORMAT(completed_at, '%Y-%m-%d') " +
-            "ORDER BY month ASC",
-            nativeQuery = true)
-    List<Object[]> getMentalHealthScoreTrend();
 }
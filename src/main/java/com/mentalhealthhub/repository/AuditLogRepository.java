@@ -31,7 +31,4 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     @Query("SELECT FUNCTION('YEAR_WEEK', a.createdAt) as week, COUNT(a) FROM AuditLog a GROUP BY FUNCTION('YEAR_WEEK', a.createdAt) ORDER BY week DESC")
     Map<String, Long> getWeeklyActionTrend();
-
-    @Query("SELECT FUNCTION('DATE_FORMAT', a.createdAt, '%Y-%m') as month, COUNT(a) FROM AuditLog a GROUP BY FUNCTION('DATE_FORMAT', a.createdAt, '%Y-%m') ORDER BY month DESC")
-    Map<String, Long> getMonthlyActionTrend();
 }
@@ -0,0 +1,98 @@
+package com.mentalhealthhub.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mentalhealthhub.model.DailyMetric;
+import com.mentalhealthhub.model.DailyMetricType;
+
+@Repository
+public interface DailyMetricRepository extends JpaRepository<DailyMetric, Long> {
+
+    // (day, value) rows of one metric inside a window; served by the unique key index
+    @Query("SELECT d.metricDate, d.metricValue FROM DailyMetric d " +
+            "WHERE d.metric = :metric AND d.dimension = :dimension " +
+            "AND d.metricDate >= :from AND d.metricDate <= :to ORDER BY d.metricDate")
+    List<Object[]> findSeries(@Param("metric") DailyMetricType metric,
+                              @Param("dimension") String dimension,
+                              @Param("from") LocalDate from,
+                              @Param("to") LocalDate to);
+
+    // Adds delta to a (metric, day, dimension) cell, creating it if needed
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "VALUES (:metric, :day, :dimension, :delta) " +
+            "ON DUPLICATE KEY UPDATE metric_value = metric_value + :delta",
+            nativeQuery = true)
+    void addToMetric(@Param("metric") String metric,
+                     @Param("day") LocalDate day,
+                     @Param("dimension") String dimension,
+                     @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_metrics", nativeQuery = true)
+    void deleteAllMetrics();
+
+    // ==================== Backfill (rebuild) queries ====================
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "SELECT 'USER_REGISTERED', CAST(created_at AS DATE), '', COUNT(*) FROM users " +
+            "WHERE created_at IS NOT NULL AND deleted_at IS NULL GROUP BY CAST(created_at AS DATE)",
+            nativeQuery = true)
+    void backfillUserRegistrations();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "SELECT 'ASSESSMENT_COMPLETED', CAST(completed_at AS DATE), '', COUNT(*) FROM assessments " +
+            "WHERE completed_at IS NOT NULL GROUP BY CAST(completed_at AS DATE)",
+            nativeQuery = true)
+    void backfillAssessmentCompletions();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "SELECT 'ASSESSMENT_SCORED', CAST(completed_at AS DATE), '', COUNT(total_score) FROM assessments " +
+            "WHERE completed_at IS NOT NULL AND total_score IS NOT NULL GROUP BY CAST(completed_at AS DATE)",
+            nativeQuery = true)
+    void backfillAssessmentScoreCounts();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "SELECT 'ASSESSMENT_SCORE_SUM', CAST(completed_at AS DATE), '', SUM(total_score) FROM assessments " +
+            "WHERE completed_at IS NOT NULL AND total_score IS NOT NULL GROUP BY CAST(completed_at AS DATE)",
+            nativeQuery = true)
+    void backfillAssessmentScoreSums();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "SELECT 'MODULE_COMPLETED', CAST(completed_at AS DATE), '', COUNT(*) FROM module_progress " +
+            "WHERE completed = true AND completed_at IS NOT NULL GROUP BY CAST(completed_at AS DATE)",
+            nativeQuery = true)
+    void backfillModuleCompletions();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "SELECT 'REPORT_SUBMITTED', CAST(submitted_at AS DATE), '', COUNT(*) FROM reports " +
+            "WHERE submitted_at IS NOT NULL GROUP BY CAST(submitted_at AS DATE)",
+            nativeQuery = true)
+    void backfillReportSubmissions();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "SELECT 'REPORT_RESOLVED', CAST(resolved_at AS DATE), '', COUNT(*) FROM reports " +
+            "WHERE resolved_at IS NOT NULL GROUP BY CAST(resolved_at AS DATE)",
+            nativeQuery = true)
+    void backfillReportResolutions();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_metrics (metric, metric_date, dimension, metric_value) " +
+            "SELECT 'APPOINTMENT_APPROVED', appointment_date, '', COUNT(*) FROM appointments " +
+            "WHERE status = 'APPROVED' GROUP BY appointment_date",
+            nativeQuery = true)
+    void backfillApprovedAppointments();
+}
@@ -3,20 +3,27 @@ package com.mentalhealthhub.repository;
 import com.mentalhealthhub.model.ForumComment;
 import com.mentalhealthhub.model.ForumPost;
 import com.mentalhealthhub.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Repository
 public interface ForumCommentRepository extends JpaRepository<ForumComment, Long> {
-    List<ForumComment> findByPostOrderByCreatedAtAsc(ForumPost post);
-    Long countByPost(ForumPost post);
+    // Keyset page of a post's thread, oldest first: comments after (afterCreatedAt, afterId).
+    // Selects only what the thread shows (id, content, createdAt), so no post or author is loaded
+    @Query("SELECT fc.id, fc.content, fc.createdAt FROM ForumComment fc WHERE fc.post.id = :postId " +
+           "AND (fc.createdAt > :afterCreatedAt OR (fc.createdAt = :afterCreatedAt AND fc.id > :afterId)) " +
+           "ORDER BY fc.createdAt ASC, fc.id ASC")
+    List<Object[]> findThreadPage(@Param("postId") Long postId,
+                                  @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                  @Param("afterId") Long afterId,
+                                  Pageable pageable);
 
-    // Analytics queries
-    @Query("SELECT FUNCTION('DATE_FORMAT', fc.createdAt, '%Y-%m') as month, COUNT(fc) FROM ForumComment fc GROUP BY FUNCTION('DATE_FORMAT', fc.createdAt, '%Y-%m') ORDER BY month DESC")
-    Map<String, Long> getMonthlyCommentTrend();
+    Long countByPost(ForumPost post);
 
     // Per-user comment counts for analytics (userId, count) ordered desc
     @Query("SELECT fc.user.id as userId, COUNT(fc) as count FROM ForumComment fc GROUP BY fc.user.id ORDER BY count DESC")
@@ -24,4 +31,3 @@ public interface ForumCommentRepository extends JpaRepository<ForumComment, Long
 
     Long countByUser(User user);
 }
-
@@ -0,0 +1,37 @@
+package com.mentalhealthhub.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mentalhealthhub.model.ForumCounter;
+import com.mentalhealthhub.model.ForumCounterType;
+
+@Repository
+public interface ForumCounterRepository extends JpaRepository<ForumCounter, ForumCounterType> {
+
+    // Adds delta to a counter, creating it if needed
+    @Modifying
+    @Query(value = "INSERT INTO forum_counters (name, counter_value) VALUES (:name, :delta) " +
+            "ON DUPLICATE KEY UPDATE counter_value = counter_value + :delta",
+            nativeQuery = true)
+    void addToCounter(@Param("name") String name, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM forum_counters", nativeQuery = true)
+    void deleteAllCounters();
+
+    // ==================== Backfill (rebuild) queries ====================
+    @Modifying
+    @Query(value = "INSERT INTO forum_counters (name, counter_value) SELECT 'POSTS', COUNT(*) FROM forum_posts",
+            nativeQuery = true)
+    void backfillPosts();
+
+    @Modifying
+    @Query(value = "INSERT INTO forum_counters (name, counter_value) " +
+            "SELECT 'COMMENTS', COUNT(*) FROM forum_comments",
+            nativeQuery = true)
+    void backfillComments();
+}
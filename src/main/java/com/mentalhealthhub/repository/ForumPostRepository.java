@@ -2,20 +2,44 @@ package com.mentalhealthhub.repository;
 
 import com.mentalhealthhub.model.ForumPost;
 import com.mentalhealthhub.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 @Repository
 public interface ForumPostRepository extends JpaRepository<ForumPost, Long> {
-    List<ForumPost> findAllByOrderByCreatedAtDesc();
-    List<ForumPost> findByCategoryOrderByCreatedAtDesc(String category);
     long countByUser(User user);
 
+    // Keyset page of the feed, newest first: posts before (beforeCreatedAt, beforeId)
+    @Query("SELECT fp FROM ForumPost fp LEFT JOIN FETCH fp.user " +
+           "WHERE fp.createdAt < :beforeCreatedAt OR (fp.createdAt = :beforeCreatedAt AND fp.id < :beforeId) " +
+           "ORDER BY fp.createdAt DESC, fp.id DESC")
+    List<ForumPost> findFeedPage(@Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                 @Param("beforeId") Long beforeId,
+                                 Pageable pageable);
+
+    // Same page within one category
+    @Query("SELECT fp FROM ForumPost fp LEFT JOIN FETCH fp.user WHERE fp.category = :category " +
+           "AND (fp.createdAt < :beforeCreatedAt OR (fp.createdAt = :beforeCreatedAt AND fp.id < :beforeId)) " +
+           "ORDER BY fp.createdAt DESC, fp.id DESC")
+    List<ForumPost> findCategoryFeedPage(@Param("category") String category,
+                                         @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                         @Param("beforeId") Long beforeId,
+                                         Pageable pageable);
+
+    // Recounts a post's comments in place, leaving the other columns alone
+    @Transactional
+    @Modifying
+    @Query("UPDATE ForumPost fp SET fp.replies = (SELECT COUNT(fc) FROM ForumComment fc WHERE fc.post.id = :postId) " +
+           "WHERE fp.id = :postId")
+    void refreshReplies(@Param("postId") Long postId);
+
     // Analytics queries
     @Query("SELECT COUNT(fp) FROM ForumPost fp WHERE fp.createdAt > :dateTime")
     Long countByCreatedAtAfter(@Param("dateTime") LocalDateTime dateTime);
@@ -32,16 +56,6 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, Long> {
     @Query("SELECT fp.category as category, COUNT(fp) as count FROM ForumPost fp GROUP BY fp.category")
     List<Object[]> getPostsByCategory();
 
-    @Query("SELECT fp FROM ForumPost fp ORDER BY fp.views DESC LIMIT :limit")
-    List<ForumPost> getTopPostsByViews(@Param("limit") int limit);
-
     @Query("SELECT fp.user.id as userId, COUNT(fp) as count FROM ForumPost fp GROUP BY fp.user.id ORDER BY count DESC")
     List<Object[]> getUserParticipation();
-
-    @Query("SELECT FUNCTION('DATE_FORMAT', fp.createdAt, '%Y-%m') as month, COUNT(fp) FROM ForumPost fp GROUP BY FUNCTION('DATE_FORMAT', fp.createdAt, '%Y-%m') ORDER BY month DESC")
-    Map<String, Long> getMonthlyPostTrend();
-
-    @Query(value = "SELECT DATE_FORMAT(created_at, '%Y-%m') as month, COUNT(*) as count FROM forum_posts GROUP BY DATE_FORMAT(created_at, '%Y-%m') ORDER BY month DESC", nativeQuery = true)
-    Map<String, Long> getMonthlyPostTrendNative();
 }
-
@@ -39,13 +39,13 @@ public interface ModuleProgressRepository extends JpaRepository<ModuleProgress,
     @Query("SELECT mp.module.id as key, AVG(CAST(mp.progressPercentage AS DOUBLE)) as value FROM ModuleProgress mp GROUP BY mp.module.id")
     Map<Long, Double> getAverageProgressPerModule();
 
-    @Query(value = "SELECT DATE_FORMAT(completed_at, '%Y-%m') as month, COUNT(*) as count " +
-            "FROM module_progress " +
-            "WHERE completed = true " +
-            "GROUP BY DATE_FORMAT(completed_at, '%Y-%m') " +
-            "ORDER BY month DESC",
-            nativeQuery = true)
-    List<Object[]> getMonthlyCompletionTrend();
+    // Per-user average progress for engagement scoring (userId, avgProgress)
+    @Query("SELECT mp.user.id, AVG(CAST(mp.progressPercentage AS DOUBLE)) FROM ModuleProgress mp WHERE mp.progressPercentage IS NOT NULL GROUP BY mp.user.id")
+    List<Object[]> getAverageProgressPerUser();
+
+    // Per-user progress totals for the incremental engagement store (userId, sum, count)
+    @Query("SELECT mp.user.id, SUM(mp.progressPercentage), COUNT(mp.progressPercentage) FROM ModuleProgress mp WHERE mp.progressPercentage IS NOT NULL GROUP BY mp.user.id")
+    List<Object[]> getProgressSumAndCountPerUser();
 
     @Query("SELECT m.title, COUNT(CASE WHEN mp.completed = true THEN 1 END) as completions FROM ModuleProgress mp JOIN mp.module m GROUP BY m.id ORDER BY completions DESC")
     List<Object[]> getMostAccessedModules();
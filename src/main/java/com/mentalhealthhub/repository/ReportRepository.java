@@ -45,6 +45,10 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     @Query("SELECT COUNT(r) FROM Report r WHERE r.urgency = :urgency")
     long countByUrgency(@Param("urgency") String urgency);
 
+    // (status, urgency, count) for all reports in one scan; folded by DashboardCounters
+    @Query("SELECT r.status, r.urgency, COUNT(r) FROM Report r GROUP BY r.status, r.urgency")
+    List<Object[]> countByStatusAndUrgency();
+
     @Query("SELECT r FROM Report r WHERE r.urgency = :urgency ORDER BY r.submittedAt DESC")
     List<Report> findByUrgencyOrderBySubmittedAtDesc(@Param("urgency") String urgency);
 
@@ -83,19 +87,4 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
 
     @Query("SELECT r.type as type, COUNT(r) as count FROM Report r GROUP BY r.type")
     List<Object[]> getReportsByType();
-
-    @Query(value = "SELECT DATE_FORMAT(r.submitted_at, '%Y-%m') AS month, COUNT(*) " +
-            "FROM reports r " +
-            "GROUP BY DATE_FORMAT(r.submitted_at, '%Y-%m') " +
-            "ORDER BY month ASC",
-            nativeQuery = true)
-    List<Object[]> getMonthlyReportTrend();
-
-    @Query(value = "SELECT DATE_FORMAT(r.resolved_at, '%Y-%m') AS month, COUNT(*) " +
-            "FROM reports r " +
-            "WHERE r.resolved_at IS NOT NULL " +
-            "GROUP BY DATE_FORMAT(r.resolved_at, '%Y-%m') " +
-            "ORDER BY month ASC",
-            nativeQuery = true)
-    List<Object[]> getMonthlyResolutions();
 }
\ No newline at end of file
@@ -29,22 +29,19 @@ public interface SelfCareRepository extends JpaRepository<SelfCare, Long> {
     @Query(value = "SELECT COUNT(*) FROM self_care WHERE mood = :mood", nativeQuery = true)
     Long countByMood(@Param("mood") String mood);
 
+    // (type, mood, count) in one scan; folded into both distributions by DashboardCounters
+    @Query(value = "SELECT type, mood, COUNT(*) FROM self_care GROUP BY type, mood", nativeQuery = true)
+    List<Object[]> countByTypeAndMood();
+
     @Query("SELECT COUNT(sc) FROM SelfCare sc WHERE sc.activityDate > :date")
     Long countByActivityDateAfter(@Param("date") LocalDate date);
 
-    @Query("SELECT FUNCTION('DATE_FORMAT', sc.activityDate, '%Y-%m-%d') as day, COUNT(sc) FROM SelfCare sc GROUP BY FUNCTION('DATE_FORMAT', sc.activityDate, '%Y-%m-%d') ORDER BY day DESC")
-    Map<String, Long> getDailyActivityTrend();
-
     @Query("SELECT FUNCTION('YEAR_WEEK', sc.activityDate) as week, COUNT(sc) FROM SelfCare sc GROUP BY FUNCTION('YEAR_WEEK', sc.activityDate) ORDER BY week DESC")
     Map<String, Long> getWeeklyActivityTrend();
 
-    @Query("SELECT FUNCTION('DATE_FORMAT', sc.activityDate, '%Y-%m') as month, COUNT(sc) FROM SelfCare sc GROUP BY FUNCTION('DATE_FORMAT', sc.activityDate, '%Y-%m') ORDER BY month DESC")
-    Map<String, Long> getMonthlyActivityTrend();
-
     // Per-user self-care counts for analytics (userId, count) ordered desc
     @Query("SELECT sc.user.id as userId, COUNT(sc) as count FROM SelfCare sc GROUP BY sc.user.id ORDER BY count DESC")
     List<Object[]> getUserSelfCareCounts();
 
     Long countByUser(User user);
 }
-
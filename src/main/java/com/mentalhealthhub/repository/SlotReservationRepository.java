@@ -0,0 +1,26 @@
+package com.mentalhealthhub.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mentalhealthhub.model.SlotReservation;
+
+@Repository
+public interface SlotReservationRepository extends JpaRepository<SlotReservation, Long> {
+
+    @Query("SELECT r FROM SlotReservation r WHERE r.appointment.id = :appointmentId")
+    List<SlotReservation> findByAppointmentId(@Param("appointmentId") Long appointmentId);
+
+    @Modifying
+    @Query(value = "DELETE FROM slot_reservations", nativeQuery = true)
+    void deleteAllReservations();
+
+    @Modifying
+    @Query(value = "DELETE FROM slot_reservations WHERE professional_id = :professionalId", nativeQuery = true)
+    void deleteByProfessionalId(@Param("professionalId") Long professionalId);
+}
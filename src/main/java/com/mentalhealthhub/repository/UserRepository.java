@@ -10,7 +10,6 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 import java.util.List;
-import java.util.Map;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -27,6 +26,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
                            @Param("active") Boolean active,
                            Pageable pageable);
 
+    // Lightweight (id, name) projection for bulk name resolution
+    @Query("SELECT u.id, u.name FROM User u WHERE u.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
     // Analytics queries for admin dashboard
     @Query("SELECT COUNT(u) FROM User u WHERE u.deletedAt IS NULL")
     Long countTotalUsers();
@@ -40,6 +43,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.deletedAt IS NULL")
     Long countByRole(@Param("role") UserRole role);
 
+    // (role, active, count) for every non-deleted user in one scan; folded by DashboardCounters
+    @Query("SELECT u.role, u.active, COUNT(u) FROM User u WHERE u.deletedAt IS NULL GROUP BY u.role, u.active")
+    List<Object[]> countByRoleAndActive();
+
     @Query("SELECT COUNT(u) FROM User u WHERE u.createdAt > :dateTime AND u.deletedAt IS NULL")
     Long countNewUsersSince(@Param("dateTime") java.time.LocalDateTime dateTime);
 
@@ -49,6 +56,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role = :role AND u.deletedAt IS NULL")
     List<User> findByRole(@Param("role") UserRole role);
 
+    @Query("SELECT u.id FROM User u WHERE u.role = :role AND u.deletedAt IS NULL")
+    List<Long> findIdsByRole(@Param("role") UserRole role);
+
+    // (id, name) rows, for lists that cover every user of a role
+    @Query("SELECT u.id, u.name FROM User u WHERE u.role = :role AND u.deletedAt IS NULL")
+    List<Object[]> findIdsAndNamesByRole(@Param("role") UserRole role);
+
     @Query("SELECT AVG(CAST(u.stressLevel AS DOUBLE)) FROM User u WHERE u.stressLevel IS NOT NULL AND u.deletedAt IS NULL")
     Double getAverageStressLevel();
 
@@ -57,7 +71,4 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     @Query("SELECT AVG(CAST(u.wellbeingScore AS DOUBLE)) FROM User u WHERE u.wellbeingScore IS NOT NULL AND u.deletedAt IS NULL")
     Double getAverageWellbeingScore();
-
-    @Query(value = "SELECT DATE_FORMAT(u.created_at, '%Y-%m') as month, COUNT(u.id) as cnt FROM users u WHERE u.deleted_at IS NULL GROUP BY DATE_FORMAT(u.created_at, '%Y-%m') ORDER BY month DESC", nativeQuery = true)
-    java.util.List<Object[]> getUserRegistrationTrendRaw();
 }
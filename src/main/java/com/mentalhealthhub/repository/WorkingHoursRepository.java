@@ -0,0 +1,21 @@
+package com.mentalhealthhub.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mentalhealthhub.model.WorkingHours;
+
+@Repository
+public interface WorkingHoursRepository extends JpaRepository<WorkingHours, Long> {
+
+    List<WorkingHours> findByProfessionalId(Long professionalId);
+
+    @Modifying
+    @Query("DELETE FROM WorkingHours w WHERE w.professionalId = :professionalId")
+    void deleteByProfessionalId(@Param("professionalId") Long professionalId);
+}
@@ -20,12 +20,14 @@ public class AdminUserService {
     private final UserRepository userRepository;
     private final AuditLogRepository auditLogRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserNameResolver userNameResolver;
 
     public AdminUserService(UserRepository userRepository, AuditLogRepository auditLogRepository,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder, UserNameResolver userNameResolver) {
         this.userRepository = userRepository;
         this.auditLogRepository = auditLogRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userNameResolver = userNameResolver;
     }
 
     public User createUser(CreateUserDto dto, Long adminId) {
@@ -135,6 +137,7 @@ public class AdminUserService {
 
         u.setUpdatedAt(LocalDateTime.now());
         User saved = userRepository.save(u);
+        userNameResolver.evict(saved.getId());
 
         // Log the action only if something changed
         if (changed) {
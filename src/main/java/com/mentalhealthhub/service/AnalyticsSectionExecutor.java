@@ -0,0 +1,145 @@
+package com.mentalhealthhub.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs independent analytics sections concurrently.
+ * Each section gets its own read-only transaction on a pooled thread and is
+ * bounded by a per-section timeout; a failed or slow section yields null so
+ * the caller can still return the sections that did complete.
+ *
+ * The timeout starts when a section begins running, not when it is queued.
+ * It is also the transaction timeout, so the queries of a section that
+ * overruns are cancelled and its thread and connection are released rather
+ * than left working for a result nobody waits for.
+ */
+@Component
+public class AnalyticsSectionExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsSectionExecutor.class);
+
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AnalyticsSnapshotCache snapshotCache;
+    private final long timeoutMillis;
+
+    public AnalyticsSectionExecutor(
+            @Qualifier("analyticsExecutor") Executor executor,
+            PlatformTransactionManager transactionManager,
+            AnalyticsSnapshotCache snapshotCache,
+            @Value("${analytics.sections.timeout-ms:10000}") long timeoutMillis) {
+        this.executor = executor;
+        this.snapshotCache = snapshotCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1L, (timeoutMillis + 999L) / 1000L));
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Starts a section on the analytics pool. The returned handle must be
+     * passed to {@link #await(Section)} to collect the result.
+     */
+    public <T> Section<T> submit(String name, Supplier<T> builder) {
+        return new Section<>(name, start(builder), System.nanoTime());
+    }
+
+    /**
+     * Like {@link #submit(String, Supplier)}, but reuses the section's cached
+     * value while none of the entity types it depends on have changed.
+     */
+    public <T> Section<T> submitCached(String name, List<Class<?>> dependsOn, Supplier<T> builder) {
+        long started = System.nanoTime();
+        return new Section<>(name, snapshotCache.get(name, dependsOn, () -> start(builder)), started);
+    }
+
+    private <T> CompletableFuture<T> start(Supplier<T> builder) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            // Queue time, or the caller's own work under CallerRunsPolicy, does not count
+            result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+            try {
+                result.complete(readOnlyTransaction.execute(status -> {
+                    T value = builder.get();
+                    // Nothing to commit; an explicit rollback also keeps a query error the
+                    // section already handled from surfacing as UnexpectedRollbackException
+                    status.setRollbackOnly();
+                    return value;
+                }));
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Waits for a section and returns its value, or null if it failed or timed out.
+     */
+    public <T> T await(Section<T> section) {
+        try {
+            T value = section.future.get();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Analytics section '{}' completed in {} ms", section.name,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - section.startedNanos));
+            }
+            return value;
+        } catch (ExecutionException e) {
+            section.failed = true;
+            if (e.getCause() instanceof TimeoutException) {
+                logger.error("Analytics section '{}' timed out after {} ms", section.name, timeoutMillis);
+            } else {
+                logger.error("Error loading analytics section '" + section.name + "'", e.getCause());
+            }
+        } catch (InterruptedException e) {
+            section.failed = true;
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while waiting for analytics section '{}'", section.name);
+        }
+        return null;
+    }
+
+    /**
+     * Handle to a section that has been submitted for execution.
+     */
+    public static final class Section<T> {
+        private final String name;
+        private final CompletableFuture<T> future;
+        private final long startedNanos;
+        private volatile boolean failed;
+
+        private Section(String name, CompletableFuture<T> future, long startedNanos) {
+            this.name = name;
+            this.future = future;
+            this.startedNanos = startedNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package com.mentalhealthhub.service;
 
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.mentalhealthhub.dto.AdminActivityDTO;
@@ -23,8 +25,17 @@ import com.mentalhealthhub.dto.ReportAnalyticsDTO;
 import com.mentalhealthhub.dto.SelfCareAnalyticsDTO;
 import com.mentalhealthhub.dto.StaffDashboardMetricsDTO;
 import com.mentalhealthhub.dto.UserAnalyticsDTO;
+import com.mentalhealthhub.model.Appointment;
 import com.mentalhealthhub.model.AppointmentStatus;
+import com.mentalhealthhub.model.Assessment;
+import com.mentalhealthhub.model.AuditLog;
+import com.mentalhealthhub.model.DailyMetricType;
+import com.mentalhealthhub.model.EducationalModule;
+import com.mentalhealthhub.model.ForumComment;
 import com.mentalhealthhub.model.ForumPost;
+import com.mentalhealthhub.model.ModuleProgress;
+import com.mentalhealthhub.model.Report;
+import com.mentalhealthhub.model.SelfCare;
 import com.mentalhealthhub.model.SelfCareType;
 import com.mentalhealthhub.model.User;
 import com.mentalhealthhub.model.UserRole;
@@ -45,6 +56,22 @@ public class AnalyticsService {
 
     private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
 
+    // Entity types each section reads; used to version cached sections and HTTP validators
+    public static final List<Class<?>> USER_SOURCES = List.of(User.class);
+    public static final List<Class<?>> MENTAL_HEALTH_SOURCES = List.of(Assessment.class, User.class);
+    public static final List<Class<?>> APPOINTMENT_SOURCES = List.of(Appointment.class, User.class);
+    public static final List<Class<?>> MODULE_SOURCES = List.of(ModuleProgress.class, EducationalModule.class);
+    public static final List<Class<?>> SELF_CARE_SOURCES = List.of(SelfCare.class);
+    public static final List<Class<?>> FORUM_SOURCES = List.of(ForumPost.class, ForumComment.class, User.class);
+    public static final List<Class<?>> REPORT_SOURCES = List.of(Report.class);
+    public static final List<Class<?>> ADMIN_ACTIVITY_SOURCES = List.of(AuditLog.class, User.class);
+    public static final List<Class<?>> ENGAGEMENT_SOURCES = List.of(User.class, ModuleProgress.class,
+            ForumPost.class, ForumComment.class, SelfCare.class);
+    public static final List<Class<?>> STAFF_DASHBOARD_SOURCES = List.of(User.class, Assessment.class, Report.class);
+    public static final List<Class<?>> COMPREHENSIVE_SOURCES = List.of(User.class, Assessment.class, Appointment.class,
+            ModuleProgress.class, EducationalModule.class, SelfCare.class, ForumPost.class, ForumComment.class,
+            Report.class, AuditLog.class);
+
     private final UserRepository userRepository;
     private final AssessmentRepository assessmentRepository;
     private final AppointmentRepository appointmentRepository;
@@ -55,6 +82,13 @@ public class AnalyticsService {
     private final ReportRepository reportRepository;
     private final AuditLogRepository auditLogRepository;
     private final EducationalModuleRepository educationalModuleRepository;
+    private final AnalyticsSectionExecutor sectionExecutor;
+    private final UserNameResolver userNameResolver;
+    private final EngagementStore engagementStore;
+    private final DailyMetricsService dailyMetricsService;
+    private final DashboardCounters dashboardCounters;
+    private final ForumService forumService;
+    private final int trendMonths;
 
     public AnalyticsService(
             UserRepository userRepository,
@@ -66,7 +100,14 @@ public class AnalyticsService {
             ForumCommentRepository forumCommentRepository,
             ReportRepository reportRepository,
             AuditLogRepository auditLogRepository,
-            EducationalModuleRepository educationalModuleRepository) {
+            EducationalModuleRepository educationalModuleRepository,
+            AnalyticsSectionExecutor sectionExecutor,
+            UserNameResolver userNameResolver,
+            EngagementStore engagementStore,
+            DailyMetricsService dailyMetricsService,
+            DashboardCounters dashboardCounters,
+            ForumService forumService,
+            @Value("${analytics.rollup.trend-months:12}") int trendMonths) {
         this.userRepository = userRepository;
         this.assessmentRepository = assessmentRepository;
         this.appointmentRepository = appointmentRepository;
@@ -77,19 +118,27 @@ public class AnalyticsService {
         this.reportRepository = reportRepository;
         this.auditLogRepository = auditLogRepository;
         this.educationalModuleRepository = educationalModuleRepository;
+        this.sectionExecutor = sectionExecutor;
+        this.userNameResolver = userNameResolver;
+        this.engagementStore = engagementStore;
+        this.dailyMetricsService = dailyMetricsService;
+        this.dashboardCounters = dashboardCounters;
+        this.forumService = forumService;
+        this.trendMonths = trendMonths;
     }
 
     // ==================== User Analytics ====================
     public UserAnalyticsDTO getUserAnalytics() {
         UserAnalyticsDTO dto = new UserAnalyticsDTO();
 
-        dto.setTotalUsers(userRepository.countTotalUsers());
-        dto.setActiveUsers(userRepository.countActiveUsers());
-        dto.setInactiveUsers(userRepository.countInactiveUsers());
-        dto.setStudentsCount(userRepository.countByRole(UserRole.STUDENT));
-        dto.setStaffCount(userRepository.countByRole(UserRole.STAFF));
-        dto.setProfessionalsCount(userRepository.countByRole(UserRole.PROFESSIONAL));
-        dto.setAdminsCount(userRepository.countByRole(UserRole.ADMIN));
+        DashboardCounters.UserCounts counts = dashboardCounters.userCounts();
+        dto.setTotalUsers(counts.total());
+        dto.setActiveUsers(counts.active());
+        dto.setInactiveUsers(counts.inactive());
+        dto.setStudentsCount(counts.role(UserRole.STUDENT));
+        dto.setStaffCount(counts.role(UserRole.STAFF));
+        dto.setProfessionalsCount(counts.role(UserRole.PROFESSIONAL));
+        dto.setAdminsCount(counts.role(UserRole.ADMIN));
 
         LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
         LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
@@ -108,7 +157,7 @@ public class AnalyticsService {
 
             java.util.Map<String, Long> rawTrend = new java.util.HashMap<>();
             try {
-                java.util.List<Object[]> results = userRepository.getUserRegistrationTrendRaw();
+                java.util.List<Object[]> results = dailyMetricsService.monthlyTotals(DailyMetricType.USER_REGISTERED, 6, true);
                 logger.info("Raw registration trend results count: " + (results != null ? results.size() : 0));
                 
                 if (results != null && !results.isEmpty()) {
@@ -164,8 +213,9 @@ public class AnalyticsService {
             dto.setHighScore(arr[3] != null ? ((Number) arr[3]).longValue() : 0L);
         }
 
-        // Get monthly trends
-        List<Object[]> trendData = assessmentRepository.getMentalHealthScoreTrend();
+        // Get daily average scores for the last 30 days
+        List<Object[]> trendData = dailyMetricsService.dailyAverages(
+                DailyMetricType.ASSESSMENT_SCORE_SUM, DailyMetricType.ASSESSMENT_SCORED, 30);
         List<MentalHealthTrendsDTO.MonthlyTrendDTO> trends = trendData.stream()
                 .map(row -> new MentalHealthTrendsDTO.MonthlyTrendDTO(
                         row[0].toString(),
@@ -174,7 +224,8 @@ public class AnalyticsService {
         dto.setTrendData(trends);
 
         // Get monthly completions
-        List<Object[]> completions = assessmentRepository.getMonthlyCompletionTrend();
+        List<Object[]> completions = dailyMetricsService.monthlyTotals(
+                DailyMetricType.ASSESSMENT_COMPLETED, trendMonths, true);
         List<MentalHealthTrendsDTO.MonthlyCompletionDTO> monthlyComps = completions.stream()
                 .map(row -> new MentalHealthTrendsDTO.MonthlyCompletionDTO(
                         row[0].toString(),
@@ -205,13 +256,12 @@ public class AnalyticsService {
         // Professional workloads
         try {
             List<Object[]> workloads = appointmentRepository.getProfessionalWorkload();
+            Map<Long, String> names = userNameResolver.resolveNames(idsOf(workloads));
             List<AppointmentAnalyticsDTO.ProfessionalWorkloadDTO> workloadDTOs = workloads.stream()
                     .map(row -> {
                         Long profId = ((Number) row[0]).longValue();
                         Long count = ((Number) row[1]).longValue();
-                        Optional<User> prof = userRepository.findById(profId);
-                        String name = prof.isPresent() ? prof.get().getName() : "Unknown";
-                        return new AppointmentAnalyticsDTO.ProfessionalWorkloadDTO(profId, name, count);
+                        return new AppointmentAnalyticsDTO.ProfessionalWorkloadDTO(profId, names.get(profId), count);
                     })
                     .collect(Collectors.toList());
             dto.setProfessionalWorkloads(workloadDTOs);
@@ -222,7 +272,10 @@ public class AnalyticsService {
 
         // Monthly data
         try {
-            List<Object[]> monthlyData = appointmentRepository.getMonthlyCompletedAppointments();
+            // Approved appointments are bucketed by appointment date, so upcoming months count too
+            YearMonth now = YearMonth.now();
+            List<Object[]> monthlyData = dailyMetricsService.monthlyTotals(DailyMetricType.APPOINTMENT_APPROVED,
+                    now.minusMonths(trendMonths - 1L), now.plusMonths(12), true);
             List<AppointmentAnalyticsDTO.MonthlyAppointmentDTO> monthlyAppointments = monthlyData.stream()
                     .map(row -> new AppointmentAnalyticsDTO.MonthlyAppointmentDTO(
                             row[0].toString(),
@@ -257,7 +310,8 @@ public class AnalyticsService {
         dto.setMostAccessedModules(moduleAccess);
 
         // Monthly completions
-        List<Object[]> monthlyCompletions = moduleProgressRepository.getMonthlyCompletionTrend();
+        List<Object[]> monthlyCompletions = dailyMetricsService.monthlyTotals(
+                DailyMetricType.MODULE_COMPLETED, trendMonths, true);
         List<ModuleAnalyticsDTO.MonthlyCompletionDTO> monthlyComps = monthlyCompletions.stream()
                 .map(row -> new ModuleAnalyticsDTO.MonthlyCompletionDTO(
                         row[0].toString(),
@@ -273,33 +327,31 @@ public class AnalyticsService {
         SelfCareAnalyticsDTO dto = new SelfCareAnalyticsDTO();
 
         try {
-            // Activity distribution
+            // Activity and mood distributions come from a single grouped scan
+            DashboardCounters.SelfCareCounts counts = dashboardCounters.selfCareCounts();
+
             List<SelfCareAnalyticsDTO.ActivityCountDTO> activities = new ArrayList<>();
             for (SelfCareType type : SelfCareType.values()) {
-                Long count = selfCareRepository.countByType(type.name());
-                if (count != null && count > 0) {
+                long count = counts.type(type);
+                if (count > 0) {
                     activities.add(new SelfCareAnalyticsDTO.ActivityCountDTO(type.name(), count));
                 }
             }
             dto.setActivityDistribution(activities);
-        } catch (Exception e) {
-            logger.error("Error loading activity distribution", e);
-            dto.setActivityDistribution(new ArrayList<>());
-        }
 
-        try {
             // Mood distribution - only count if data exists
             Map<String, Long> moods = new HashMap<>();
             String[] moodTypes = { "great", "good", "okay", "low", "struggling" };
             for (String mood : moodTypes) {
-                Long count = selfCareRepository.countByMood(mood);
-                if (count != null && count > 0) {
+                long count = counts.mood(mood);
+                if (count > 0) {
                     moods.put(mood, count);
                 }
             }
             dto.setMoodDistribution(moods);
         } catch (Exception e) {
-            logger.error("Error loading mood distribution", e);
+            logger.error("Error loading self-care distributions", e);
+            dto.setActivityDistribution(new ArrayList<>());
             dto.setMoodDistribution(new HashMap<>());
         }
 
@@ -328,8 +380,8 @@ public class AnalyticsService {
                 .collect(Collectors.toList());
         dto.setCategoryStats(categories);
 
-        // Top posts
-        List<ForumPost> topPosts = forumPostRepository.getTopPostsByViews(5);
+        // Top posts: the hottest threads, read from the in-memory ranking
+        List<ForumPost> topPosts = forumService.getHotPosts(null, 5);
         List<ForumAnalyticsDTO.TopPostDTO> topPostDTOs = topPosts.stream()
                 .map(post -> new ForumAnalyticsDTO.TopPostDTO(post.getId(), post.getTitle(), post.getViews(),
                         post.getReplies()))
@@ -337,17 +389,19 @@ public class AnalyticsService {
         dto.setTopPosts(topPostDTOs);
 
         // User participation
-        List<Object[]> userParticipation = forumPostRepository.getUserParticipation();
+        // Only the top 10 are shown, so only their names are resolved
+        List<Object[]> userParticipation = forumPostRepository.getUserParticipation().stream()
+                .limit(10)
+                .collect(Collectors.toList());
+        Map<Long, String> names = userNameResolver.resolveNames(idsOf(userParticipation));
         List<ForumAnalyticsDTO.UserParticipationDTO> users = userParticipation.stream()
                 .map(row -> {
                     Long userId = ((Number) row[0]).longValue();
                     Long count = ((Number) row[1]).longValue();
-                    Optional<User> user = userRepository.findById(userId);
-                    String name = user.isPresent() ? user.get().getName() : "Unknown";
-                    return new ForumAnalyticsDTO.UserParticipationDTO(userId, name, count);
+                    return new ForumAnalyticsDTO.UserParticipationDTO(userId, names.get(userId), count);
                 })
                 .collect(Collectors.toList());
-        dto.setActiveUsers(users.stream().limit(10).collect(Collectors.toList()));
+        dto.setActiveUsers(users);
 
         return dto;
     }
@@ -356,16 +410,17 @@ public class AnalyticsService {
     public ReportAnalyticsDTO getReportAnalytics() {
         ReportAnalyticsDTO dto = new ReportAnalyticsDTO();
 
-        dto.setTotalReports(reportRepository.count());
-        dto.setPendingReports(reportRepository.countByStatus("pending"));
-        dto.setInProgressReports(reportRepository.countByStatus("in_progress"));
-        dto.setResolvedReports(reportRepository.countByStatus("resolved"));
-        dto.setClosedReports(reportRepository.countByStatus("closed"));
+        DashboardCounters.ReportCounts counts = dashboardCounters.reportCounts();
+        dto.setTotalReports(counts.total());
+        dto.setPendingReports(counts.status("pending"));
+        dto.setInProgressReports(counts.status("in_progress"));
+        dto.setResolvedReports(counts.status("resolved"));
+        dto.setClosedReports(counts.status("closed"));
 
-        dto.setLowUrgency(reportRepository.countByUrgency("low"));
-        dto.setMediumUrgency(reportRepository.countByUrgency("medium"));
-        dto.setHighUrgency(reportRepository.countByUrgency("high"));
-        dto.setCriticalUrgency(reportRepository.countByUrgency("critical"));
+        dto.setLowUrgency(counts.urgency("low"));
+        dto.setMediumUrgency(counts.urgency("medium"));
+        dto.setHighUrgency(counts.urgency("high"));
+        dto.setCriticalUrgency(counts.urgency("critical"));
 
         Double avgResolutionTime = reportRepository.getAverageResolutionTimeHours();
         dto.setAverageResolutionTimeHours(avgResolutionTime != null ? avgResolutionTime : 0.0);
@@ -380,7 +435,8 @@ public class AnalyticsService {
         dto.setReportsByType(types);
 
         // Monthly trends
-        List<Object[]> monthlyTrend = reportRepository.getMonthlyReportTrend();
+        List<Object[]> monthlyTrend = dailyMetricsService.monthlyTotals(
+                DailyMetricType.REPORT_SUBMITTED, trendMonths, false);
         List<ReportAnalyticsDTO.MonthlyReportDTO> trends = monthlyTrend.stream()
                 .map(row -> new ReportAnalyticsDTO.MonthlyReportDTO(
                         row[0].toString(),
@@ -389,7 +445,8 @@ public class AnalyticsService {
         dto.setMonthlyTrend(trends);
 
         // Monthly resolutions
-        List<Object[]> monthlyResolutions = reportRepository.getMonthlyResolutions();
+        List<Object[]> monthlyResolutions = dailyMetricsService.monthlyTotals(
+                DailyMetricType.REPORT_RESOLVED, trendMonths, false);
         List<ReportAnalyticsDTO.MonthlyResolutionDTO> resolutions = monthlyResolutions.stream()
                 .map(row -> new ReportAnalyticsDTO.MonthlyResolutionDTO(
                         row[0].toString(),
@@ -414,13 +471,12 @@ public class AnalyticsService {
 
         // Admin activity count
         List<Object[]> adminActivity = auditLogRepository.getAdminActivityCount();
+        Map<Long, String> names = userNameResolver.resolveNames(idsOf(adminActivity));
         List<AdminActivityDTO.AdminActivityCountDTO> adminCounts = adminActivity.stream()
                 .map(row -> {
                     Long adminId = ((Number) row[0]).longValue();
                     Long count = ((Number) row[1]).longValue();
-                    Optional<User> admin = userRepository.findById(adminId);
-                    String name = admin.isPresent() ? admin.get().getName() : "Unknown";
-                    return new AdminActivityDTO.AdminActivityCountDTO(adminId, name, count);
+                    return new AdminActivityDTO.AdminActivityCountDTO(adminId, names.get(adminId), count);
                 })
                 .collect(Collectors.toList());
         dto.setAdminActivity(adminCounts);
@@ -429,203 +485,172 @@ public class AnalyticsService {
     }
 
     // ==================== Comprehensive Analytics ====================
+    // Sections are independent, so they are built concurrently on the analytics
+    // pool, each in its own read-only transaction. The request thread itself
+    // holds no connection while it waits. Each section lists the entity types
+    // it reads so its snapshot is reused until one of them changes.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ComprehensiveAnalyticsDTO getComprehensiveAnalytics() {
         logger.info("Starting comprehensive analytics load");
+        long started = System.currentTimeMillis();
         ComprehensiveAnalyticsDTO dto = new ComprehensiveAnalyticsDTO();
 
-        try {
-            logger.info("Loading user analytics...");
-            dto.setUserAnalytics(getUserAnalytics());
-            logger.info("User analytics loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading user analytics", e);
-        }
-
-        try {
-            logger.info("Loading mental health trends...");
-            dto.setMentalHealthTrends(getMentalHealthTrends());
-            logger.info("Mental health trends loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading mental health trends", e);
-        }
-
-        try {
-            logger.info("Loading appointment analytics...");
-            dto.setAppointmentAnalytics(getAppointmentAnalytics());
-            logger.info("Appointment analytics loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading appointment analytics", e);
-        }
-
-        try {
-            logger.info("Loading module analytics...");
-            dto.setModuleAnalytics(getModuleAnalytics());
-            logger.info("Module analytics loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading module analytics", e);
-        }
-
-        try {
-            logger.info("Loading self-care analytics...");
-            dto.setSelfCareAnalytics(getSelfCareAnalytics());
-            logger.info("Self-care analytics loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading self-care analytics", e);
-        }
-
-        try {
-            logger.info("Loading forum analytics...");
-            dto.setForumAnalytics(getForumAnalytics());
-            logger.info("Forum analytics loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading forum analytics", e);
-        }
-
-        try {
-            logger.info("Loading report analytics...");
-            dto.setReportAnalytics(getReportAnalytics());
-            logger.info("Report analytics loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading report analytics", e);
-        }
-
-        try {
-            logger.info("Loading admin activity...");
-            dto.setAdminActivity(getAdminActivity());
-            logger.info("Admin activity loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading admin activity", e);
+        AnalyticsSectionExecutor.Section<UserAnalyticsDTO> users = sectionExecutor
+                .submitCached("userAnalytics", USER_SOURCES,
+                        this::getUserAnalytics);
+        AnalyticsSectionExecutor.Section<MentalHealthTrendsDTO> mentalHealth = sectionExecutor
+                .submitCached("mentalHealthTrends", MENTAL_HEALTH_SOURCES,
+                        this::getMentalHealthTrends);
+        AnalyticsSectionExecutor.Section<AppointmentAnalyticsDTO> appointments = sectionExecutor
+                .submitCached("appointmentAnalytics", APPOINTMENT_SOURCES,
+                        this::getAppointmentAnalytics);
+        AnalyticsSectionExecutor.Section<ModuleAnalyticsDTO> modules = sectionExecutor
+                .submitCached("moduleAnalytics", MODULE_SOURCES,
+                        this::getModuleAnalytics);
+        AnalyticsSectionExecutor.Section<SelfCareAnalyticsDTO> selfCare = sectionExecutor
+                .submitCached("selfCareAnalytics", SELF_CARE_SOURCES,
+                        this::getSelfCareAnalytics);
+        AnalyticsSectionExecutor.Section<ForumAnalyticsDTO> forum = sectionExecutor
+                .submitCached("forumAnalytics", FORUM_SOURCES,
+                        this::getForumAnalytics);
+        AnalyticsSectionExecutor.Section<ReportAnalyticsDTO> reports = sectionExecutor
+                .submitCached("reportAnalytics", REPORT_SOURCES,
+                        this::getReportAnalytics);
+        AnalyticsSectionExecutor.Section<AdminActivityDTO> adminActivity = sectionExecutor
+                .submitCached("adminActivity", ADMIN_ACTIVITY_SOURCES,
+                        this::getAdminActivity);
+        AnalyticsSectionExecutor.Section<EngagementSection> engagement = sectionExecutor
+                .submitCached("engagement", ENGAGEMENT_SOURCES,
+                        () -> {
+                    // Names come with the ids; the list covers every student, too many for the name cache
+                    Map<Long, String> names = new HashMap<>();
+                    for (Object[] row : userRepository.findIdsAndNamesByRole(UserRole.STUDENT)) {
+                        names.put(((Number) row[0]).longValue(), (String) row[1]);
+                    }
+                    Map<Long, Double> map = calculateEngagementRates(names.keySet());
+                    return new EngagementSection(map, calculateEngagementList(map, names));
+                });
+
+        dto.setUserAnalytics(sectionExecutor.await(users));
+        dto.setMentalHealthTrends(sectionExecutor.await(mentalHealth));
+        dto.setAppointmentAnalytics(sectionExecutor.await(appointments));
+        dto.setModuleAnalytics(sectionExecutor.await(modules));
+        dto.setSelfCareAnalytics(sectionExecutor.await(selfCare));
+        dto.setForumAnalytics(sectionExecutor.await(forum));
+        dto.setReportAnalytics(sectionExecutor.await(reports));
+        dto.setAdminActivity(sectionExecutor.await(adminActivity));
+        EngagementSection engagementResult = sectionExecutor.await(engagement);
+        if (engagementResult != null) {
+            dto.setEngagementRates(engagementResult.rates());
+            dto.setEngagementList(engagementResult.list());
         }
 
-        try {
-            logger.info("Calculating engagement rates...");
-            Map<Long, Double> map = calculateEngagementRates();
-            dto.setEngagementRates(map);
-            dto.setEngagementList(calculateEngagementList(map));
-            logger.info("Engagement rates calculated successfully");
-        } catch (Exception e) {
-            logger.error("Error calculating engagement rates", e);
+        List<String> failed = new ArrayList<>();
+        for (AnalyticsSectionExecutor.Section<?> section : List.of(users, mentalHealth, appointments, modules,
+                selfCare, forum, reports, adminActivity, engagement)) {
+            if (section.isFailed()) {
+                failed.add(section.getName());
+            }
         }
+        dto.setFailedSections(failed);
 
-        logger.info("Comprehensive analytics load completed");
+        logger.info("Comprehensive analytics load completed in {} ms ({} failed sections)",
+                System.currentTimeMillis() - started, failed.size());
         return dto;
     }
 
+    private record EngagementSection(Map<Long, Double> rates,
+            List<com.mentalhealthhub.dto.EngagementRateDTO> list) {
+    }
+
     // Calculate engagement rates per student using weights:
     // Module 50%, Forum 30% (posts 60% & comments 40%), Self-Care 20%
-    private Map<Long, Double> calculateEngagementRates() {
-        List<com.mentalhealthhub.model.User> students = userRepository
-                .findByRole(com.mentalhealthhub.model.UserRole.STUDENT);
-        Map<Long, Double> result = new HashMap<>();
-        if (students == null || students.isEmpty())
-            return result;
-
-        // Prepare forum post and comment counts and maxima
-        List<Object[]> postCounts = forumPostRepository.getUserParticipation();
-        Map<Long, Long> postMap = new HashMap<>();
-        long maxPosts = 0L;
-        for (Object[] row : postCounts) {
-            Long userId = ((Number) row[0]).longValue();
-            Long cnt = ((Number) row[1]).longValue();
-            postMap.put(userId, cnt);
-            if (cnt > maxPosts)
-                maxPosts = cnt;
-        }
+    // Every input is a grouped aggregate (one query each); the per-user values
+    // are scattered into arrays indexed by the student's position in the
+    // sorted id array and scored in a single pass.
+    // Package-private so the benchmark harness can measure it directly
+    Map<Long, Double> calculateEngagementRates() {
+        return calculateEngagementRates(userRepository.findIdsByRole(UserRole.STUDENT));
+    }
 
-        List<Object[]> commentCounts = forumCommentRepository.getUserCommentCounts();
-        Map<Long, Long> commentMap = new HashMap<>();
-        long maxComments = 0L;
-        for (Object[] row : commentCounts) {
-            Long userId = ((Number) row[0]).longValue();
-            Long cnt = ((Number) row[1]).longValue();
-            commentMap.put(userId, cnt);
-            if (cnt > maxComments)
-                maxComments = cnt;
+    private Map<Long, Double> calculateEngagementRates(java.util.Collection<Long> studentIdList) {
+        if (studentIdList == null || studentIdList.isEmpty())
+            return new HashMap<>();
+
+        long[] studentIds = new long[studentIdList.size()];
+        int next = 0;
+        for (Long studentId : studentIdList) {
+            studentIds[next++] = studentId;
+        }
+        java.util.Arrays.sort(studentIds);
+        int n = studentIds.length;
+
+        double[] moduleScores = new double[n];
+        for (Object[] row : moduleProgressRepository.getAverageProgressPerUser()) {
+            int idx = java.util.Arrays.binarySearch(studentIds, ((Number) row[0]).longValue());
+            if (idx >= 0 && row[1] != null)
+                moduleScores[idx] = ((Number) row[1]).doubleValue();
         }
 
-        // Self-care counts
-        List<Object[]> selfCareCounts = selfCareRepository.getUserSelfCareCounts();
-        Map<Long, Long> selfCareMap = new HashMap<>();
-        long maxSelfCare = 0L;
-        for (Object[] row : selfCareCounts) {
-            Long userId = ((Number) row[0]).longValue();
-            Long cnt = ((Number) row[1]).longValue();
-            selfCareMap.put(userId, cnt);
-            if (cnt > maxSelfCare)
-                maxSelfCare = cnt;
+        // Maxima are taken over all users, matching the normalisation used so far
+        long[] posts = new long[n];
+        long maxPosts = scatterCounts(forumPostRepository.getUserParticipation(), studentIds, posts);
+        long[] comments = new long[n];
+        long maxComments = scatterCounts(forumCommentRepository.getUserCommentCounts(), studentIds, comments);
+        long[] selfCare = new long[n];
+        long maxSelfCare = scatterCounts(selfCareRepository.getUserSelfCareCounts(), studentIds, selfCare);
+
+        Map<Long, Double> result = new HashMap<>(n * 4 / 3 + 1);
+        for (int i = 0; i < n; i++) {
+            result.put(studentIds[i], engagementScore(moduleScores[i], posts[i], comments[i], selfCare[i],
+                    maxPosts, maxComments, maxSelfCare));
         }
 
-        for (com.mentalhealthhub.model.User u : students) {
-            Long userId = u.getId();
-
-            // Module score: average progress percentage for user (0-100)
-            List<com.mentalhealthhub.model.ModuleProgress> progresses = moduleProgressRepository.findByUser(u);
-            double moduleScore = 0.0;
-            if (progresses != null && !progresses.isEmpty()) {
-                double sum = 0.0;
-                int count = 0;
-                for (com.mentalhealthhub.model.ModuleProgress mp : progresses) {
-                    if (mp.getProgressPercentage() != null) {
-                        sum += mp.getProgressPercentage();
-                        count++;
-                    }
-                }
-                if (count > 0)
-                    moduleScore = sum / count;
-            }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Engagement calculated for {} students (maxPosts={}, maxComments={}, maxSelfCare={})",
+                    n, maxPosts, maxComments, maxSelfCare);
+        }
+        return result;
+    }
 
-            // Forum score: normalized posts/comments
-            long posts = postMap.getOrDefault(userId, 0L);
-            long comments = commentMap.getOrDefault(userId, 0L);
-            double postNorm = maxPosts > 0 ? (posts * 100.0d / (double) maxPosts) : 0.0d;
-            double commentNorm = maxComments > 0 ? (comments * 100.0d / (double) maxComments) : 0.0d;
-            double forumScore = (0.6d * postNorm) + (0.4d * commentNorm);
-
-            // Self-care score: normalized count
-            long scCount = selfCareMap.getOrDefault(userId, 0L);
-            double selfCareScore = maxSelfCare > 0 ? (scCount * 100.0d / (double) maxSelfCare) : 0.0d;
-
-            // Combined engagement
-            double engagement = (0.5d * moduleScore) + (0.3d * forumScore) + (0.2d * selfCareScore);
-            double rounded = Math.round(engagement * 100.0d) / 100.0d;
-            // Debug logging to help track identical-rate issue
-            if (logger.isDebugEnabled()) {
-                logger.debug(String.format(
-                        "Engagement calc for userId=%d: moduleScore=%.2f, posts=%d, postNorm=%.2f, comments=%d, commentNorm=%.2f, forumScore=%.2f, selfCare=%d, selfCareNorm=%.2f, engagement=%.2f",
-                        userId,
-                        moduleScore,
-                        posts,
-                        postNorm,
-                        comments,
-                        commentNorm,
-                        forumScore,
-                        scCount,
-                        selfCareScore,
-                        rounded));
-            }
-            result.put(userId, rounded);
+    // Writes (userId, count) rows into target at each student's index and
+    // returns the largest count seen across all rows
+    private static long scatterCounts(List<Object[]> rows, long[] studentIds, long[] target) {
+        long max = 0L;
+        for (Object[] row : rows) {
+            long cnt = ((Number) row[1]).longValue();
+            if (cnt > max)
+                max = cnt;
+            if (row[0] == null)
+                continue;
+            int idx = java.util.Arrays.binarySearch(studentIds, ((Number) row[0]).longValue());
+            if (idx >= 0)
+                target[idx] = cnt;
         }
+        return max;
+    }
 
-        return result;
+    // Combined engagement (0-100, rounded to 2 decimals) from a user's average
+    // module progress and activity counts normalised against the maxima
+    static double engagementScore(double moduleScore, long posts, long comments, long selfCare,
+            long maxPosts, long maxComments, long maxSelfCare) {
+        double postNorm = maxPosts > 0 ? (posts * 100.0d / (double) maxPosts) : 0.0d;
+        double commentNorm = maxComments > 0 ? (comments * 100.0d / (double) maxComments) : 0.0d;
+        double forumScore = (0.6d * postNorm) + (0.4d * commentNorm);
+        double selfCareScore = maxSelfCare > 0 ? (selfCare * 100.0d / (double) maxSelfCare) : 0.0d;
+        double engagement = (0.5d * moduleScore) + (0.3d * forumScore) + (0.2d * selfCareScore);
+        return Math.round(engagement * 100.0d) / 100.0d;
     }
 
-    private java.util.List<com.mentalhealthhub.dto.EngagementRateDTO> calculateEngagementList(Map<Long, Double> map) {
+    private java.util.List<com.mentalhealthhub.dto.EngagementRateDTO> calculateEngagementList(Map<Long, Double> map,
+            Map<Long, String> names) {
         java.util.List<com.mentalhealthhub.dto.EngagementRateDTO> list = new java.util.ArrayList<>();
         if (map == null || map.isEmpty())
             return list;
 
         for (Map.Entry<Long, Double> e : map.entrySet()) {
             Long userId = e.getKey();
-            Double rate = e.getValue();
-            String name = "Unknown";
-            try {
-                java.util.Optional<com.mentalhealthhub.model.User> uopt = userRepository.findById(userId);
-                if (uopt.isPresent())
-                    name = uopt.get().getName();
-            } catch (Exception ex) {
-                logger.warn("Could not load user name for id " + userId, ex);
-            }
-            list.add(new com.mentalhealthhub.dto.EngagementRateDTO(userId, name, rate));
+            list.add(new com.mentalhealthhub.dto.EngagementRateDTO(userId, names.get(userId), e.getValue()));
         }
 
         // sort descending by rate
@@ -633,13 +658,23 @@ public class AnalyticsService {
         return list;
     }
 
-    // Public helper to get engagement for a single user (uses the same calculation
-    // as the bulk method)
+    // Collects the user id column (row[0]) of an aggregate result
+    private static List<Long> idsOf(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                ids.add(((Number) row[0]).longValue());
+            }
+        }
+        return ids;
+    }
+
+    // Public helper to get engagement for a single user (same weights as the
+    // bulk method, read from the incrementally maintained engagement store)
     public Double getEngagementForUser(Long userId) {
         if (userId == null)
             return null;
-        Map<Long, Double> map = calculateEngagementRates();
-        return map.getOrDefault(userId, 0.0);
+        return engagementStore.getEngagement(userId);
     }
 
     // ==================== Staff Dashboard Metrics ====================
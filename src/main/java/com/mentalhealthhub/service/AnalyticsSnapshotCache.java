@@ -0,0 +1,160 @@
+package com.mentalhealthhub.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mentalhealthhub.event.EntityChangeEvent;
+
+/**
+ * Holds the last computed value of each analytics section together with the
+ * data versions of the entity types it was built from.
+ *
+ * Every committed insert, update or delete bumps the version of its entity
+ * type. A section is reused while the versions of its dependencies are
+ * unchanged and it is younger than the max age (a safety net for
+ * time-relative figures and writes that bypass JPA). Stale sections are
+ * recomputed on demand, and concurrent requests for the same stale section
+ * share one computation.
+ */
+@Component
+public class AnalyticsSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsSnapshotCache.class);
+
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Long> lastChanged = new ConcurrentHashMap<>();
+    // Versions restart at zero, so validators also carry the start time
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long maxAgeMillis;
+
+    public AnalyticsSnapshotCache(@Value("${analytics.snapshot.max-age-ms:300000}") long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        touch(event.getEntityType());
+    }
+
+    /**
+     * Bumps the data version of an entity type, for committed writes that
+     * bypass JPA and so publish no change event.
+     */
+    public void touch(Class<?> entityType) {
+        versions.computeIfAbsent(entityType, type -> new AtomicLong()).incrementAndGet();
+        lastChanged.put(entityType, System.currentTimeMillis());
+    }
+
+    /**
+     * HTTP validators for a response built from {@code dependsOn}. Both change
+     * when one of the entity types changes or the max age window rolls over,
+     * the same points at which a cached section would be rebuilt.
+     */
+    public Validators validatorsFor(List<Class<?>> dependsOn) {
+        long window = System.currentTimeMillis() / maxAgeMillis;
+        StringBuilder etag = new StringBuilder("\"")
+                .append(Long.toString(startedAt, 36)).append('-').append(Long.toString(window, 36));
+        long lastModified = Math.max(startedAt, window * maxAgeMillis);
+        for (Class<?> type : dependsOn) {
+            etag.append('-').append(Long.toString(versionOf(type), 36));
+            lastModified = Math.max(lastModified, lastChanged.getOrDefault(type, 0L));
+        }
+        return new Validators(etag.append('"').toString(), lastModified);
+    }
+
+    /**
+     * Returns the cached value of a section if it is still current, otherwise
+     * joins the running recomputation or starts one with {@code loader}.
+     * A failed computation is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> get(String section, List<Class<?>> dependsOn,
+            Supplier<CompletableFuture<T>> loader) {
+        long[] stamp = stampOf(dependsOn);
+        Snapshot snapshot = snapshots.get(section);
+        if (snapshot != null && snapshot.isCurrent(stamp, maxAgeMillis)) {
+            return CompletableFuture.completedFuture((T) snapshot.value);
+        }
+
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(section, created);
+        if (running != null) {
+            return (CompletableFuture<T>) running;
+        }
+
+        // The stamp was taken before loading, so a write that commits while
+        // the section is being built leaves the stored snapshot stale
+        try {
+            loader.get().whenComplete((value, error) -> {
+                if (error == null) {
+                    snapshots.put(section, new Snapshot(value, stamp, System.currentTimeMillis()));
+                    created.complete(value);
+                } else {
+                    created.completeExceptionally(error);
+                }
+                inFlight.remove(section, created);
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(section, created);
+            created.completeExceptionally(e);
+        }
+        return (CompletableFuture<T>) created;
+    }
+
+    /**
+     * Drops every cached section, e.g. after a bulk import that bypassed JPA.
+     */
+    public void invalidateAll() {
+        snapshots.clear();
+        logger.debug("Analytics snapshots invalidated");
+    }
+
+    /**
+     * Current data version of an entity type.
+     */
+    public long versionOf(Class<?> entityType) {
+        AtomicLong version = versions.get(entityType);
+        return version != null ? version.get() : 0L;
+    }
+
+    private long[] stampOf(List<Class<?>> dependsOn) {
+        long[] stamp = new long[dependsOn.size()];
+        for (int i = 0; i < stamp.length; i++) {
+            stamp[i] = versionOf(dependsOn.get(i));
+        }
+        return stamp;
+    }
+
+    public record Validators(String etag, long lastModified) {
+    }
+
+    private static final class Snapshot {
+        private final Object value;
+        private final long[] stamp;
+        private final long computedAt;
+
+        private Snapshot(Object value, long[] stamp, long computedAt) {
+            this.value = value;
+            this.stamp = stamp;
+            this.computedAt = computedAt;
+        }
+
+        private boolean isCurrent(long[] current, long maxAgeMillis) {
+            return Arrays.equals(stamp, current)
+                    && System.currentTimeMillis() - computedAt < maxAgeMillis;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.mentalhealthhub.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.mentalhealthhub.event.EntityChangeEvent;
+import com.mentalhealthhub.model.Appointment;
+import com.mentalhealthhub.model.AppointmentStatus;
+import com.mentalhealthhub.repository.AppointmentRepository;
+import com.mentalhealthhub.util.HashedWheelTimer;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sends reminders ahead of approved appointments without polling the
+ * database. Approved future appointments are read once at startup and every
+ * reminder is parked on a {@link HashedWheelTimer}; committed appointment
+ * changes then cancel and reschedule the reminders of that appointment only.
+ * Due reminders go to every {@link ReminderNotifier} bean.
+ */
+@Service
+public class AppointmentReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentReminderScheduler.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final List<ReminderNotifier> notifiers;
+    private final List<Integer> leadMinutes;
+    private final boolean enabled;
+    private final HashedWheelTimer<ReminderNotifier.Reminder> timer;
+    // Pending reminders per appointment id, replaced as a whole when the appointment changes
+    private final Map<Long, List<HashedWheelTimer.Timeout<ReminderNotifier.Reminder>>> scheduled =
+            new ConcurrentHashMap<>();
+
+    public AppointmentReminderScheduler(AppointmentRepository appointmentRepository,
+            List<ReminderNotifier> notifiers,
+            @Value("${appointments.reminders.enabled:true}") boolean enabled,
+            @Value("${appointments.reminders.lead-minutes:1440,60}") List<Integer> leadMinutes,
+            @Value("${appointments.reminders.tick-ms:1000}") long tickMillis,
+            @Value("${appointments.reminders.wheel-size:4096}") int wheelSize) {
+        this.appointmentRepository = appointmentRepository;
+        this.notifiers = notifiers;
+        this.enabled = enabled;
+        this.leadMinutes = leadMinutes;
+        this.timer = new HashedWheelTimer<>("appointment-reminders", tickMillis, TimeUnit.MILLISECONDS, wheelSize,
+                this::deliver);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load();
+        } catch (Exception e) {
+            logger.error("Error loading appointment reminders", e);
+        }
+    }
+
+    /**
+     * Drops every pending reminder and reads approved appointments again, e.g.
+     * after a bulk import that bypassed JPA.
+     */
+    public synchronized void reload() {
+        scheduled.values().forEach(timeouts -> timeouts.forEach(HashedWheelTimer.Timeout::cancel));
+        scheduled.clear();
+        if (enabled) {
+            load();
+        }
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if (!enabled || !(event.getEntity() instanceof Appointment appointment) || appointment.getId() == null) {
+            return;
+        }
+        boolean remind = event.getChangeType() != EntityChangeEvent.ChangeType.DELETE
+                && appointment.getStatus() == AppointmentStatus.APPROVED
+                && appointment.getAppointmentDate() != null && appointment.getTimeSlotStart() != null;
+        scheduled.compute(appointment.getId(), (id, current) -> {
+            if (current != null) {
+                current.forEach(HashedWheelTimer.Timeout::cancel);
+            }
+            return remind ? schedule(id, appointment.getStudent() != null ? appointment.getStudent().getId() : null,
+                    appointment.getProfessional() != null ? appointment.getProfessional().getId() : null,
+                    LocalDateTime.of(appointment.getAppointmentDate(), appointment.getTimeSlotStart())) : null;
+        });
+    }
+
+    /**
+     * Reminders waiting on the timer.
+     */
+    public int pendingCount() {
+        return timer.pendingCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.close();
+    }
+
+    private synchronized void load() {
+        long started = System.currentTimeMillis();
+        List<Object[]> rows = appointmentRepository.findApprovedStartsFrom(LocalDate.now());
+        for (Object[] row : rows) {
+            Long id = ((Number) row[0]).longValue();
+            LocalDateTime startsAt = LocalDateTime.of((LocalDate) row[3], (LocalTime) row[4]);
+            // An appointment changed since startup has already been scheduled from its event
+            scheduled.computeIfAbsent(id, key -> schedule(key, (Long) row[1], (Long) row[2], startsAt));
+        }
+        logger.info("Scheduled {} reminders for {} approved appointments in {} ms", timer.pendingCount(),
+                rows.size(), System.currentTimeMillis() - started);
+    }
+
+    // Timeouts for every lead time still ahead of now, or null when none is left
+    private List<HashedWheelTimer.Timeout<ReminderNotifier.Reminder>> schedule(Long appointmentId, Long studentId,
+            Long professionalId, LocalDateTime startsAt) {
+        LocalDateTime now = LocalDateTime.now();
+        List<HashedWheelTimer.Timeout<ReminderNotifier.Reminder>> timeouts = new ArrayList<>(leadMinutes.size());
+        for (int lead : leadMinutes) {
+            LocalDateTime fireAt = startsAt.minusMinutes(lead);
+            if (fireAt.isAfter(now)) {
+                ReminderNotifier.Reminder reminder = new ReminderNotifier.Reminder(appointmentId, studentId,
+                        professionalId, startsAt, lead);
+                timeouts.add(timer.schedule(reminder, Duration.between(now, fireAt).toMillis(),
+                        TimeUnit.MILLISECONDS));
+            }
+        }
+        return timeouts.isEmpty() ? null : timeouts;
+    }
+
+    private void deliver(ReminderNotifier.Reminder reminder) {
+        for (ReminderNotifier notifier : notifiers) {
+            try {
+                notifier.notify(reminder);
+            } catch (RuntimeException e) {
+                logger.warn("Reminder notifier {} failed for appointment {}", notifier.getClass().getSimpleName(),
+                        reminder.appointmentId(), e);
+            }
+        }
+        // Forget the appointment once its last reminder has gone out
+        scheduled.computeIfPresent(reminder.appointmentId(),
+                (id, timeouts) -> timeouts.stream().allMatch(HashedWheelTimer.Timeout::isExpired) ? null : timeouts);
+    }
+}
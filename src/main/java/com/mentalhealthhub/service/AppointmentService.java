@@ -1,21 +1,39 @@
 package com.mentalhealthhub.service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.mentalhealthhub.model.Appointment;
 import com.mentalhealthhub.model.AppointmentStatus;
 import com.mentalhealthhub.model.Report;
 import com.mentalhealthhub.model.User;
+import com.mentalhealthhub.model.WorkingHours;
 import com.mentalhealthhub.repository.AppointmentRepository;
 import com.mentalhealthhub.repository.ReportRepository;
+import com.mentalhealthhub.repository.WorkingHoursRepository;
+import com.mentalhealthhub.util.SlotTable;
 import com.mentalhealthhub.util.TimeSlotUtil;
 
 @Service
@@ -23,45 +41,131 @@ public class AppointmentService {
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
 
+    // Longest date range a free-slot search may cover
+    public static final int MAX_SEARCH_DAYS = 31;
+
+    // Paged schedule reads cover a year ahead by default, at most this many rows a page
+    public static final int SCHEDULE_WINDOW_DAYS = 366;
+    public static final int SCHEDULE_PAGE_SIZE = 200;
+
+    public static final Set<AppointmentStatus> ACTIVE_STATUSES = Collections.unmodifiableSet(
+            EnumSet.of(AppointmentStatus.PENDING, AppointmentStatus.APPROVED));
+
     private final AppointmentRepository appointmentRepository;
     private final ReportRepository reportRepository;
-
-    public AppointmentService(AppointmentRepository appointmentRepository, ReportRepository reportRepository) {
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final SlotReservationLedger slotReservationLedger;
+    private final WorkingCalendars workingCalendars;
+    private final WorkingHoursRepository workingHoursRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AppointmentService(AppointmentRepository appointmentRepository, ReportRepository reportRepository,
+            SlotAvailabilityIndex slotAvailabilityIndex, SlotReservationLedger slotReservationLedger,
+            WorkingCalendars workingCalendars, WorkingHoursRepository workingHoursRepository,
+            PlatformTransactionManager transactionManager) {
         this.appointmentRepository = appointmentRepository;
         this.reportRepository = reportRepository;
+        this.slotAvailabilityIndex = slotAvailabilityIndex;
+        this.slotReservationLedger = slotReservationLedger;
+        this.workingCalendars = workingCalendars;
+        this.workingHoursRepository = workingHoursRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    public List<TimeSlotUtil.TimeSlot> getAvailableTimeSlots(LocalDate date, User professional) {
-        List<TimeSlotUtil.TimeSlot> allSlots = TimeSlotUtil.generateAllTimeSlots();
+    /**
+     * Saves an appointment and its slot reservations in one transaction. All
+     * appointment writes go through here so the reservation ledger stays in
+     * step with appointment dates, times and statuses.
+     *
+     * @throws IllegalArgumentException if the appointment's slots are taken
+     */
+    public Appointment saveAppointment(Appointment appointment) {
+        Long professionalId = appointment.getProfessional() != null ? appointment.getProfessional().getId() : null;
+        return slotReservationLedger.inLockedTransaction(professionalId, appointment.getAppointmentDate(), () -> {
+            Appointment saved = appointmentRepository.save(appointment);
+            slotReservationLedger.sync(saved);
+            return saved;
+        });
+    }
+
+    /**
+     * Slot table of a professional's working hours on a date.
+     */
+    public SlotTable getSlotTable(Long professionalId, LocalDate date) {
+        return workingCalendars.tableFor(professionalId, date);
+    }
+
+    /**
+     * Slot tables of a professional's week. Days without their own template
+     * use the default schedule.
+     */
+    public Map<DayOfWeek, SlotTable> getWorkingHours(Long professionalId) {
+        Map<DayOfWeek, SlotTable> week = new EnumMap<>(DayOfWeek.class);
+        LocalDate monday = LocalDate.now().with(DayOfWeek.MONDAY);
+        for (int d = 0; d < 7; d++) {
+            LocalDate date = monday.plusDays(d);
+            week.put(date.getDayOfWeek(), workingCalendars.tableFor(professionalId, date));
+        }
+        return week;
+    }
+
+    /**
+     * Replaces a professional's working hours. Every period string is compiled
+     * first, so an invalid template leaves the old hours in place. Existing
+     * bookings are kept and their slot reservations renumbered for the new
+     * tables in the same transaction, while the professional's bookings wait.
+     *
+     * @param periodsByDay periods such as "09:00-12:00,13:00-17:00" per weekday,
+     *        blank for a day off; weekdays not in the map use the default schedule
+     * @throws IllegalArgumentException if a template is invalid or the
+     *         reservations could not be renumbered; the old hours are kept
+     */
+    public void updateWorkingHours(User professional, int slotMinutes, Map<DayOfWeek, String> periodsByDay) {
         Long professionalId = professional.getId();
-        List<Appointment> pendingAppointments = appointmentRepository.findByAppointmentDateAndProfessionalIdAndStatus(
-                date, professionalId, AppointmentStatus.PENDING);
-        List<Appointment> approvedAppointments = appointmentRepository.findByAppointmentDateAndProfessionalIdAndStatus(
-                date, professionalId, AppointmentStatus.APPROVED);
-        List<Appointment> occupiedAppointments = new ArrayList<>();
-        occupiedAppointments.addAll(pendingAppointments);
-        occupiedAppointments.addAll(approvedAppointments);
-        List<TimeSlotUtil.TimeSlot> availableSlots = new ArrayList<>();
-        for (TimeSlotUtil.TimeSlot slot : allSlots) {
-            boolean isOccupied = false;
-            for (Appointment a : occupiedAppointments) {
-                if (slot.getStartTime().isBefore(a.getTimeSlotEnd()) &&
-                        slot.getEndTime().isAfter(a.getTimeSlotStart())) {
-                    isOccupied = true;
-                    break;
-                }
-            }
-            if (!isOccupied) {
-                availableSlots.add(slot);
-            }
+        List<WorkingHours> rows = new ArrayList<>();
+        SlotTable[] week = new SlotTable[7];
+        Arrays.fill(week, TimeSlotUtil.DEFAULT_TABLE);
+        for (Map.Entry<DayOfWeek, String> entry : periodsByDay.entrySet()) {
+            SlotTable table = SlotTable.of(slotMinutes, entry.getValue());
+            rows.add(new WorkingHours(professionalId, entry.getKey(), table.getPeriods(), slotMinutes));
+            week[entry.getKey().ordinal()] = table;
         }
-        return availableSlots;
+        slotReservationLedger.inProfessionalLockedTransaction(professionalId, () -> {
+            workingHoursRepository.deleteByProfessionalId(professionalId);
+            workingHoursRepository.flush();
+            workingHoursRepository.saveAll(rows);
+            // The calendars still hold the old tables until the commit
+            slotReservationLedger.renumberProfessional(professionalId,
+                    date -> week[date.getDayOfWeek().ordinal()]);
+        }, () -> {
+            workingCalendars.reload();
+            slotAvailabilityIndex.evictProfessional(professionalId);
+        });
+    }
+
+    public List<TimeSlotUtil.TimeSlot> getAvailableTimeSlots(LocalDate date, User professional) {
+        int occupied = slotAvailabilityIndex.occupiedMask(professional.getId(), date);
+        return workingCalendars.tableFor(professional.getId(), date).slotsOf(~occupied);
     }
 
     public boolean isTimeSlotAvailable(LocalDate date, User professional, LocalTime slotStart, LocalTime slotEnd) {
-        List<Appointment> conflictingAppointments = appointmentRepository
-                .findConflictingAppointments(date, professional, slotStart, slotEnd);
-        return conflictingAppointments.isEmpty();
+        // The cached mask rejects taken slots without a query; a free answer
+        // is confirmed against the database because it guards a booking
+        if (!slotAvailabilityIndex.isFree(professional.getId(), date, slotStart, slotEnd)) {
+            return false;
+        }
+        return !hasConflict(professional.getId(), date, slotStart, slotEnd, null);
+    }
+
+    /**
+     * True when a pending or approved appointment of the professional, other
+     * than {@code excludeId}, overlaps the interval. Answered by the database
+     * so it sees bookings made since the availability masks were cached.
+     */
+    public boolean hasConflict(Long professionalId, LocalDate date, LocalTime slotStart, LocalTime slotEnd,
+            Long excludeId) {
+        return appointmentRepository.existsOverlappingAppointment(professionalId, date, ACTIVE_STATUSES,
+                slotStart, slotEnd, excludeId);
     }
 
     public boolean validateContinuousSlots(List<TimeSlotUtil.TimeSlot> selectedSlots) {
@@ -74,6 +178,15 @@ public class AppointmentService {
         return true;
     }
 
+    /**
+     * Same checks against a professional's own slot table, so custom breaks
+     * and days off are honoured as well.
+     */
+    public boolean validateContinuousSlots(List<TimeSlotUtil.TimeSlot> selectedSlots, SlotTable table) {
+        return TimeSlotUtil.areSlotsConsecutive(selectedSlots)
+                && TimeSlotUtil.slotsValidateLunchBreak(selectedSlots, table);
+    }
+
     public Appointment createAppointment(User student, User professional, LocalDate date,
             LocalTime startTime, LocalTime endTime, String notes) {
         return createAppointment(student, professional, date, startTime, endTime, notes, AppointmentStatus.PENDING);
@@ -81,19 +194,14 @@ public class AppointmentService {
 
     public Appointment createAppointment(User student, User professional, LocalDate date,
             LocalTime startTime, LocalTime endTime, String notes, AppointmentStatus status) {
-        LocalTime currentTime = startTime;
-        List<TimeSlotUtil.TimeSlot> slots = new ArrayList<>();
-        while (currentTime.isBefore(endTime)) {
-            LocalTime slotEnd = currentTime.plusMinutes(TimeSlotUtil.SLOT_DURATION_MINUTES);
-            slots.add(new TimeSlotUtil.TimeSlot(currentTime, slotEnd));
-            currentTime = slotEnd;
-        }
-
-        if (!validateContinuousSlots(slots)) {
+        // The interval must be whole, back-to-back slots of the professional's day
+        if (workingCalendars.tableFor(professional.getId(), date).runMask(startTime, endTime) == 0) {
             throw new IllegalArgumentException("Selected time slots are not continuous");
         }
 
-        if (!isTimeSlotAvailable(date, professional, startTime, endTime)) {
+        // Taken slots are rejected from the cached mask; a race with another
+        // booking is caught by the reservation ledger's unique key
+        if (!slotAvailabilityIndex.isFree(professional.getId(), date, startTime, endTime)) {
             throw new IllegalArgumentException("Selected time slot is not available");
         }
 
@@ -109,7 +217,7 @@ public class AppointmentService {
                 .updatedAt(LocalDateTime.now())
                 .build();
 
-        return appointmentRepository.save(appointment);
+        return saveAppointment(appointment);
     }
 
     public Appointment approveAppointment(Long appointmentId) {
@@ -122,7 +230,7 @@ public class AppointmentService {
 
         appointment.setStatus(AppointmentStatus.APPROVED);
         appointment.setUpdatedAt(LocalDateTime.now());
-        return appointmentRepository.save(appointment);
+        return saveAppointment(appointment);
     }
 
     public Appointment rejectAppointment(Long appointmentId) {
@@ -135,17 +243,15 @@ public class AppointmentService {
 
         appointment.setStatus(AppointmentStatus.REJECTED);
         appointment.setUpdatedAt(LocalDateTime.now());
-        return appointmentRepository.save(appointment);
+        return saveAppointment(appointment);
     }
 
+    /**
+     * All of a student's pending and approved appointments, ordered by the
+     * database.
+     */
     public List<Appointment> getStudentAppointments(User student) {
-        List<Appointment> pending = appointmentRepository.findByStudentAndStatus(student, AppointmentStatus.PENDING);
-        List<Appointment> approved = appointmentRepository.findByStudentAndStatus(student, AppointmentStatus.APPROVED);
-
-        pending.addAll(approved);
-        return pending.stream()
-                .sorted((a1, a2) -> a1.getAppointmentDate().compareTo(a2.getAppointmentDate()))
-                .collect(Collectors.toList());
+        return appointmentRepository.findStudentSchedule(student.getId(), ACTIVE_STATUSES);
     }
 
     public List<Appointment> getStudentRejectedAppointments(User student) {
@@ -153,16 +259,63 @@ public class AppointmentService {
                 AppointmentStatus.REJECTED);
     }
 
+    /**
+     * All of a professional's pending and approved appointments, ordered by
+     * the database. Use {@link #getProfessionalSchedule} to read them a page
+     * at a time.
+     */
     public List<Appointment> getProfessionalAppointments(User professional) {
-        List<Appointment> pending = appointmentRepository.findByProfessionalAndStatus(professional,
-                AppointmentStatus.PENDING);
-        List<Appointment> approved = appointmentRepository.findByProfessionalAndStatus(professional,
-                AppointmentStatus.APPROVED);
+        return appointmentRepository.findProfessionalSchedule(professional.getId(), ACTIVE_STATUSES);
+    }
 
-        pending.addAll(approved);
-        return pending.stream()
-                .sorted((a1, a2) -> a1.getAppointmentDate().compareTo(a2.getAppointmentDate()))
-                .collect(Collectors.toList());
+    /**
+     * One keyset page of a professional's appointments with the given statuses
+     * between two dates, ordered by date, start time and id. Pass the cursor of
+     * the last row to get the next page.
+     */
+    public List<Appointment> getProfessionalSchedule(User professional, Set<AppointmentStatus> statuses,
+            LocalDate from, LocalDate to, ScheduleCursor after, int size) {
+        return appointmentRepository.findProfessionalSchedulePage(professional.getId(), statuses, from, to,
+                after.date(), after.start(), after.id(), PageRequest.of(0, size));
+    }
+
+    /**
+     * Student counterpart of {@link #getProfessionalSchedule}.
+     */
+    public List<Appointment> getStudentSchedule(User student, Set<AppointmentStatus> statuses,
+            LocalDate from, LocalDate to, ScheduleCursor after, int size) {
+        return appointmentRepository.findStudentSchedulePage(student.getId(), statuses, from, to,
+                after.date(), after.start(), after.id(), PageRequest.of(0, size));
+    }
+
+    /**
+     * Same page as {@link #getProfessionalSchedule} as projection rows of id,
+     * date, start, end, status, student id and student name.
+     */
+    public List<Object[]> getProfessionalScheduleRows(User professional, Set<AppointmentStatus> statuses,
+            LocalDate from, LocalDate to, ScheduleCursor after, int size) {
+        return appointmentRepository.findProfessionalScheduleRows(professional.getId(), statuses, from, to,
+                after.date(), after.start(), after.id(), PageRequest.of(0, size));
+    }
+
+    /**
+     * The student's next pending or approved appointment after today, or null.
+     */
+    public Appointment getNextStudentAppointment(User student) {
+        LocalDate from = LocalDate.now().plusDays(1);
+        List<Appointment> next = getStudentSchedule(student, ACTIVE_STATUSES, from,
+                from.plusDays(SCHEDULE_WINDOW_DAYS), ScheduleCursor.start(from), 1);
+        return next.isEmpty() ? null : next.get(0);
+    }
+
+    public long countActiveClients(User professional) {
+        return appointmentRepository.countDistinctStudentsByProfessional(professional.getId());
+    }
+
+    public long countCompletedSessions(User professional) {
+        LocalDateTime now = LocalDateTime.now();
+        return appointmentRepository.countCompletedSessions(professional.getId(), now.toLocalDate(),
+                now.toLocalTime());
     }
 
     public List<Appointment> getProfessionalPendingAppointments(User professional) {
@@ -191,6 +344,127 @@ public class AppointmentService {
         return studentSlots;
     }
 
+    /**
+     * Range counterpart of {@link #getStudentAppointmentsForDate}: the student's
+     * pending and approved slots per date, loaded with one query.
+     */
+    public Map<LocalDate, List<TimeSlotUtil.TimeSlot>> getStudentAppointmentsForRange(User student,
+            LocalDate from, LocalDate to) {
+        Map<LocalDate, List<TimeSlotUtil.TimeSlot>> studentSlots = new HashMap<>();
+        for (Object[] row : appointmentRepository.findStudentIntervalsInRange(student, from, to)) {
+            studentSlots.computeIfAbsent((LocalDate) row[0], d -> new ArrayList<>())
+                    .add(new TimeSlotUtil.TimeSlot((LocalTime) row[1], (LocalTime) row[2]));
+        }
+        return studentSlots;
+    }
+
+    /**
+     * Earliest free windows of {@code durationMinutes} across the given
+     * professionals between two dates, ordered by date, start time and
+     * professional. A window must be free for the professional and must not
+     * overlap the student's own appointments or pending counter-proposals.
+     */
+    public List<FreeSlot> findNextFreeSlots(User student, List<User> professionals, LocalDate from, LocalDate to,
+            int durationMinutes, int limit) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SEARCH_DAYS) {
+            throw new IllegalArgumentException("Search range cannot exceed " + MAX_SEARCH_DAYS + " days");
+        }
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive");
+        }
+        List<FreeSlot> result = new ArrayList<>();
+        if (professionals.isEmpty() || limit <= 0) {
+            return result;
+        }
+
+        List<User> ordered = professionals.stream()
+                .sorted(Comparator.comparing(User::getId))
+                .collect(Collectors.toList());
+        Map<Long, int[]> occupied = slotAvailabilityIndex.occupiedMasks(
+                ordered.stream().map(User::getId).collect(Collectors.toList()), from, to);
+        List<List<TimeSlotUtil.TimeSlot>> studentBusy = studentBusyIntervals(student, from, to);
+        // Tables are interned, so runs are worked out once per distinct schedule
+        Map<SlotTable, int[]> runsByTable = new IdentityHashMap<>();
+
+        LocalDate today = LocalDate.now();
+        LocalTime now = LocalTime.now();
+        List<FreeSlot> day = new ArrayList<>();
+        for (int d = 0; d < studentBusy.size(); d++) {
+            LocalDate date = from.plusDays(d);
+            if (date.isBefore(today)) {
+                continue;
+            }
+            day.clear();
+            for (User professional : ordered) {
+                SlotTable table = workingCalendars.tableFor(professional.getId(), date);
+                int[] runs = runsByTable.computeIfAbsent(table, t -> t.runMasks(durationMinutes));
+                if (runs.length == 0) {
+                    continue;
+                }
+                int busy = occupied.get(professional.getId())[d];
+                for (TimeSlotUtil.TimeSlot slot : studentBusy.get(d)) {
+                    busy |= table.overlapMask(slot.getStartTime(), slot.getEndTime());
+                }
+                if (date.equals(today)) {
+                    busy |= table.startedMask(now);
+                }
+                for (int run : runs) {
+                    if ((run & busy) == 0) {
+                        int first = Integer.numberOfTrailingZeros(run);
+                        int last = SlotTable.MAX_SLOTS - 1 - Integer.numberOfLeadingZeros(run);
+                        day.add(new FreeSlot(professional, date, new TimeSlotUtil.TimeSlot(
+                                table.slot(first).getStartTime(), table.slot(last).getEndTime())));
+                    }
+                }
+            }
+            // Professionals were visited in id order and the sort is stable
+            day.sort(Comparator.comparing(freeSlot -> freeSlot.slot().getStartTime()));
+            for (FreeSlot freeSlot : day) {
+                result.add(freeSlot);
+                if (result.size() >= limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    // The student's pending and approved slots and open counter-proposals, per day of the range
+    private List<List<TimeSlotUtil.TimeSlot>> studentBusyIntervals(User student, LocalDate from, LocalDate to) {
+        List<List<TimeSlotUtil.TimeSlot>> busy = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            busy.add(new ArrayList<>());
+        }
+        getStudentAppointmentsForRange(student, from, to).forEach((date, slots) ->
+                busy.get((int) ChronoUnit.DAYS.between(from, date)).addAll(slots));
+
+        // Times the student proposed as counter-offers are held for them as well
+        for (Appointment proposal : appointmentRepository.findByStudentAndStatus(student,
+                AppointmentStatus.STUDENT_PROPOSED)) {
+            LocalDate date = proposal.getSuggestedAppointmentDate();
+            if (date != null && !date.isBefore(from) && !date.isAfter(to)) {
+                busy.get((int) ChronoUnit.DAYS.between(from, date)).add(new TimeSlotUtil.TimeSlot(
+                        proposal.getSuggestedTimeSlotStart(), proposal.getSuggestedTimeSlotEnd()));
+            }
+        }
+        return busy;
+    }
+
+    /**
+     * Occupied slot masks of each professional for every day of a month,
+     * indexed by day of month minus one. Days that are not cached are loaded
+     * with one range query for all professionals.
+     */
+    public Map<Long, int[]> getMonthOccupancy(List<Long> professionalIds, YearMonth month) {
+        if (professionalIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return slotAvailabilityIndex.occupiedMasks(professionalIds, month.atDay(1), month.atEndOfMonth());
+    }
+
     public void studentApproveAppointment(Long appointmentId, User student) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
@@ -205,7 +479,7 @@ public class AppointmentService {
 
         appointment.setStatus(AppointmentStatus.APPROVED);
         appointment.setUpdatedAt(LocalDateTime.now());
-        appointmentRepository.save(appointment);
+        saveAppointment(appointment);
     }
 
     public void studentRejectAndProposeSuggestion(Long appointmentId, User student,
@@ -221,25 +495,10 @@ public class AppointmentService {
             throw new RuntimeException("Can only reject pending appointments from professional");
         }
 
-        List<Appointment> conflicts = appointmentRepository.findByAppointmentDateAndProfessionalIdAndStatus(
-                suggestedDate,
-                appointment.getProfessional().getId(),
-                AppointmentStatus.PENDING);
-
-        List<Appointment> approvedConflicts = appointmentRepository.findByAppointmentDateAndProfessionalIdAndStatus(
-                suggestedDate,
-                appointment.getProfessional().getId(),
-                AppointmentStatus.APPROVED);
-
-        conflicts.addAll(approvedConflicts);
-
-        for (Appointment conflict : conflicts) {
-            if (!conflict.getId().equals(appointmentId)) {
-                if (timeOverlaps(suggestedStart, suggestedEnd, conflict.getTimeSlotStart(),
-                        conflict.getTimeSlotEnd())) {
-                    throw new RuntimeException("Suggested time slot is not available for the professional");
-                }
-            }
+        // The appointment's own proposed time does not block the suggestion
+        if (hasConflict(appointment.getProfessional().getId(), suggestedDate, suggestedStart, suggestedEnd,
+                appointmentId)) {
+            throw new RuntimeException("Suggested time slot is not available for the professional");
         }
 
         appointment.setSuggestedAppointmentDate(suggestedDate);
@@ -248,7 +507,7 @@ public class AppointmentService {
 
         appointment.setStatus(AppointmentStatus.STUDENT_PROPOSED);
         appointment.setUpdatedAt(LocalDateTime.now());
-        appointmentRepository.save(appointment);
+        saveAppointment(appointment);
 
         if (appointment.getReportId() != null) {
             Report report = reportRepository.findById(appointment.getReportId()).orElse(null);
@@ -277,26 +536,10 @@ public class AppointmentService {
             throw new RuntimeException("No suggestion found for this appointment");
         }
 
-        List<Appointment> conflicts = appointmentRepository.findByAppointmentDateAndProfessionalIdAndStatus(
-                appointment.getSuggestedAppointmentDate(),
-                professional.getId(),
-                AppointmentStatus.PENDING);
-
-        List<Appointment> approvedConflicts = appointmentRepository.findByAppointmentDateAndProfessionalIdAndStatus(
-                appointment.getSuggestedAppointmentDate(),
-                professional.getId(),
-                AppointmentStatus.APPROVED);
-
-        conflicts.addAll(approvedConflicts);
-
-        for (Appointment conflict : conflicts) {
-            if (!conflict.getId().equals(appointmentId)) {
-                if (timeOverlaps(appointment.getSuggestedTimeSlotStart(), appointment.getSuggestedTimeSlotEnd(),
-                        conflict.getTimeSlotStart(), conflict.getTimeSlotEnd())) {
-                    throw new RuntimeException(
-                            "Suggested time slot is no longer available. Please reject and propose a different time.");
-                }
-            }
+        if (hasConflict(professional.getId(), appointment.getSuggestedAppointmentDate(),
+                appointment.getSuggestedTimeSlotStart(), appointment.getSuggestedTimeSlotEnd(), appointmentId)) {
+            throw new RuntimeException(
+                    "Suggested time slot is no longer available. Please reject and propose a different time.");
         }
 
         appointment.setAppointmentDate(appointment.getSuggestedAppointmentDate());
@@ -309,7 +552,7 @@ public class AppointmentService {
 
         appointment.setStatus(AppointmentStatus.APPROVED);
         appointment.setUpdatedAt(LocalDateTime.now());
-        appointmentRepository.save(appointment);
+        saveAppointment(appointment);
 
         if (appointment.getReportId() != null) {
             Report report = reportRepository.findById(appointment.getReportId()).orElse(null);
@@ -320,8 +563,22 @@ public class AppointmentService {
         }
     }
 
-    private boolean timeOverlaps(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
-        return start1.isBefore(end2) && end1.isAfter(start2);
+    /**
+     * Keyset position in schedule order: rows after (date, start, id) follow.
+     */
+    public record ScheduleCursor(LocalDate date, LocalTime start, Long id) {
+
+        // Position before every appointment on or after {@code from}
+        public static ScheduleCursor start(LocalDate from) {
+            return new ScheduleCursor(from, LocalTime.MIN, 0L);
+        }
+
+        public static ScheduleCursor after(Appointment appointment) {
+            return new ScheduleCursor(appointment.getAppointmentDate(), appointment.getTimeSlotStart(),
+                    appointment.getId());
+        }
     }
-}
 
+    public record FreeSlot(User professional, LocalDate date, TimeSlotUtil.TimeSlot slot) {
+    }
+}
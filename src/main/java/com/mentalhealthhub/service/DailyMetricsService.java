@@ -0,0 +1,297 @@
+package com.mentalhealthhub.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mentalhealthhub.event.EntityChangeEvent;
+import com.mentalhealthhub.model.Appointment;
+import com.mentalhealthhub.model.AppointmentStatus;
+import com.mentalhealthhub.model.Assessment;
+import com.mentalhealthhub.model.DailyMetricType;
+import com.mentalhealthhub.model.ModuleProgress;
+import com.mentalhealthhub.model.Report;
+import com.mentalhealthhub.model.User;
+import com.mentalhealthhub.repository.DailyMetricRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Maintains the daily_metrics rollup that backs the monthly/daily trend
+ * charts, so a chart reads one row per day of its window instead of grouping
+ * whole tables by DATE_FORMAT.
+ *
+ * Committed writes are turned into per-(metric, day) deltas, coalesced in
+ * memory and upserted on a short fixed delay. Reads add any deltas that have
+ * not been flushed yet. A rebuild recomputes the table from the source tables
+ * when it is empty at startup and nightly, correcting any drift.
+ */
+@Service
+public class DailyMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyMetricsService.class);
+
+    // Only platform-wide totals are maintained so far
+    public static final String ALL = "";
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final DailyMetricRepository dailyMetricRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<MetricKey, Long> pending = new ConcurrentHashMap<>();
+
+    public DailyMetricsService(DailyMetricRepository dailyMetricRepository,
+            PlatformTransactionManager transactionManager) {
+        this.dailyMetricRepository = dailyMetricRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==================== Trend reads ====================
+
+    /**
+     * Monthly totals of a metric between two months (inclusive) as
+     * {"yyyy-MM", Long} rows, skipping empty months like the GROUP BY queries
+     * they replace.
+     */
+    public List<Object[]> monthlyTotals(DailyMetricType metric, YearMonth from, YearMonth to, boolean newestFirst) {
+        Map<LocalDate, Long> series = readSeries(metric, from.atDay(1), to.atEndOfMonth());
+        TreeMap<YearMonth, Long> months = new TreeMap<>();
+        series.forEach((day, value) -> months.merge(YearMonth.from(day), value, Long::sum));
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<YearMonth, Long> e : (newestFirst ? months.descendingMap() : months).entrySet()) {
+            if (e.getValue() != 0L) {
+                rows.add(new Object[] { e.getKey().format(MONTH_FORMAT), e.getValue() });
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Monthly totals for the last {@code months} months, newest or oldest first.
+     */
+    public List<Object[]> monthlyTotals(DailyMetricType metric, int months, boolean newestFirst) {
+        YearMonth now = YearMonth.now();
+        return monthlyTotals(metric, now.minusMonths(months - 1L), now, newestFirst);
+    }
+
+    /**
+     * Daily averages sum/count over the last {@code days} days as
+     * {"yyyy-MM-dd", Double} rows, oldest first.
+     */
+    public List<Object[]> dailyAverages(DailyMetricType sumMetric, DailyMetricType countMetric, int days) {
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(days);
+        Map<LocalDate, Long> sums = readSeries(sumMetric, from, to);
+        Map<LocalDate, Long> counts = readSeries(countMetric, from, to);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<LocalDate, Long> e : counts.entrySet()) {
+            if (e.getValue() > 0L) {
+                double avg = sums.getOrDefault(e.getKey(), 0L) / (double) e.getValue();
+                rows.add(new Object[] { e.getKey().format(DAY_FORMAT), avg });
+            }
+        }
+        return rows;
+    }
+
+    // Stored values plus deltas that are still waiting to be flushed
+    private Map<LocalDate, Long> readSeries(DailyMetricType metric, LocalDate from, LocalDate to) {
+        TreeMap<LocalDate, Long> series = new TreeMap<>();
+        for (Object[] row : dailyMetricRepository.findSeries(metric, ALL, from, to)) {
+            series.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        pending.forEach((key, delta) -> {
+            if (key.metric() == metric && key.dimension().equals(ALL)
+                    && !key.day().isBefore(from) && !key.day().isAfter(to)) {
+                series.merge(key.day(), delta, Long::sum);
+            }
+        });
+        return series;
+    }
+
+    // ==================== Incremental maintenance ====================
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        Object entity = event.getEntity();
+        if (!(entity instanceof User || entity instanceof Assessment || entity instanceof ModuleProgress
+                || entity instanceof Report || entity instanceof Appointment)) {
+            return;
+        }
+
+        Map<MetricKey, Long> deltas = new HashMap<>();
+        BeanWrapperImpl current = new BeanWrapperImpl(entity);
+        switch (event.getChangeType()) {
+            case INSERT -> collect(entity, current::getPropertyValue, 1L, deltas);
+            case DELETE -> collect(entity, current::getPropertyValue, -1L, deltas);
+            case UPDATE -> {
+                if (!event.hasPreviousState()) {
+                    // Cannot diff without the old values; the nightly rebuild corrects this
+                    return;
+                }
+                collect(entity, event::getPreviousValue, -1L, deltas);
+                collect(entity, current::getPropertyValue, 1L, deltas);
+            }
+        }
+        deltas.forEach((key, delta) -> {
+            if (delta != 0L) {
+                pending.merge(key, delta, Long::sum);
+            }
+        });
+    }
+
+    // Adds sign * the entity's contribution to each metric, reading properties through state
+    private void collect(Object entity, Function<String, Object> state, long sign, Map<MetricKey, Long> deltas) {
+        if (entity instanceof User) {
+            LocalDateTime createdAt = (LocalDateTime) state.apply("createdAt");
+            if (createdAt != null && state.apply("deletedAt") == null) {
+                add(deltas, DailyMetricType.USER_REGISTERED, createdAt.toLocalDate(), sign);
+            }
+        } else if (entity instanceof Assessment) {
+            LocalDateTime completedAt = (LocalDateTime) state.apply("completedAt");
+            if (completedAt != null) {
+                LocalDate day = completedAt.toLocalDate();
+                add(deltas, DailyMetricType.ASSESSMENT_COMPLETED, day, sign);
+                Integer totalScore = (Integer) state.apply("totalScore");
+                if (totalScore != null) {
+                    add(deltas, DailyMetricType.ASSESSMENT_SCORED, day, sign);
+                    add(deltas, DailyMetricType.ASSESSMENT_SCORE_SUM, day, sign * totalScore);
+                }
+            }
+        } else if (entity instanceof ModuleProgress) {
+            LocalDateTime completedAt = (LocalDateTime) state.apply("completedAt");
+            if (Boolean.TRUE.equals(state.apply("completed")) && completedAt != null) {
+                add(deltas, DailyMetricType.MODULE_COMPLETED, completedAt.toLocalDate(), sign);
+            }
+        } else if (entity instanceof Report) {
+            LocalDateTime submittedAt = (LocalDateTime) state.apply("submittedAt");
+            if (submittedAt != null) {
+                add(deltas, DailyMetricType.REPORT_SUBMITTED, submittedAt.toLocalDate(), sign);
+            }
+            LocalDateTime resolvedAt = (LocalDateTime) state.apply("resolvedAt");
+            if (resolvedAt != null) {
+                add(deltas, DailyMetricType.REPORT_RESOLVED, resolvedAt.toLocalDate(), sign);
+            }
+        } else if (entity instanceof Appointment) {
+            LocalDate appointmentDate = (LocalDate) state.apply("appointmentDate");
+            if (state.apply("status") == AppointmentStatus.APPROVED && appointmentDate != null) {
+                add(deltas, DailyMetricType.APPOINTMENT_APPROVED, appointmentDate, sign);
+            }
+        }
+    }
+
+    private static void add(Map<MetricKey, Long> deltas, DailyMetricType metric, LocalDate day, long delta) {
+        deltas.merge(new MetricKey(metric, day, ALL), delta, Long::sum);
+    }
+
+    /**
+     * Writes coalesced deltas to daily_metrics, one upsert per touched cell.
+     * Synchronized with {@link #rebuild()}, which would otherwise recount
+     * deltas that have been drained but not yet written.
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollup.flush-ms:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<MetricKey, Long> drained = drainPending();
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(drained));
+        } catch (Exception e) {
+            logger.error("Error flushing " + drained.size() + " daily metric deltas; will retry", e);
+            restorePending(drained);
+        }
+    }
+
+    private Map<MetricKey, Long> drainPending() {
+        Map<MetricKey, Long> drained = new HashMap<>();
+        for (MetricKey key : new ArrayList<>(pending.keySet())) {
+            Long delta = pending.remove(key);
+            if (delta != null && delta != 0L) {
+                drained.put(key, delta);
+            }
+        }
+        return drained;
+    }
+
+    private void restorePending(Map<MetricKey, Long> drained) {
+        drained.forEach((key, delta) -> pending.merge(key, delta, Long::sum));
+    }
+
+    private void write(Map<MetricKey, Long> deltas) {
+        deltas.forEach((key, delta) -> dailyMetricRepository
+                .addToMetric(key.metric().name(), key.day(), key.dimension(), delta));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // ==================== Rebuild ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (dailyMetricRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling daily metrics", e);
+        }
+    }
+
+    /**
+     * Recomputes every metric from the source tables in one transaction.
+     * Deltas pending when it starts are drained and written in the same
+     * transaction, so they are never lost or counted twice: they commit
+     * with the rebuild (which then supersedes them) or are put back if it
+     * fails.
+     */
+    @Scheduled(cron = "${analytics.rollup.rebuild-cron:0 30 3 * * *}")
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<MetricKey, Long> drained = drainPending();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                write(drained);
+                dailyMetricRepository.deleteAllMetrics();
+                dailyMetricRepository.backfillUserRegistrations();
+                dailyMetricRepository.backfillAssessmentCompletions();
+                dailyMetricRepository.backfillAssessmentScoreCounts();
+                dailyMetricRepository.backfillAssessmentScoreSums();
+                dailyMetricRepository.backfillModuleCompletions();
+                dailyMetricRepository.backfillReportSubmissions();
+                dailyMetricRepository.backfillReportResolutions();
+                dailyMetricRepository.backfillApprovedAppointments();
+            });
+        } catch (RuntimeException e) {
+            restorePending(drained);
+            throw e;
+        }
+        logger.info("Daily metrics rebuilt in {} ms", System.currentTimeMillis() - started);
+    }
+
+    private record MetricKey(DailyMetricType metric, LocalDate day, String dimension) {
+    }
+}
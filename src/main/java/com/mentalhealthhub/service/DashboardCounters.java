@@ -0,0 +1,126 @@
+package com.mentalhealthhub.service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.mentalhealthhub.model.SelfCareType;
+import com.mentalhealthhub.model.UserRole;
+import com.mentalhealthhub.repository.ReportRepository;
+import com.mentalhealthhub.repository.SelfCareRepository;
+import com.mentalhealthhub.repository.UserRepository;
+
+/**
+ * Loads dashboard counter groups with one GROUP BY query per group instead
+ * of one COUNT query per counter, and folds the rows into typed records.
+ */
+@Service
+public class DashboardCounters {
+
+    private final UserRepository userRepository;
+    private final ReportRepository reportRepository;
+    private final SelfCareRepository selfCareRepository;
+
+    public DashboardCounters(UserRepository userRepository,
+            ReportRepository reportRepository,
+            SelfCareRepository selfCareRepository) {
+        this.userRepository = userRepository;
+        this.reportRepository = reportRepository;
+        this.selfCareRepository = selfCareRepository;
+    }
+
+    /**
+     * Totals for non-deleted users, split by active flag and by role.
+     */
+    public UserCounts userCounts() {
+        long total = 0L;
+        long active = 0L;
+        long inactive = 0L;
+        Map<UserRole, Long> byRole = new EnumMap<>(UserRole.class);
+        for (Object[] row : userRepository.countByRoleAndActive()) {
+            long cnt = ((Number) row[2]).longValue();
+            total += cnt;
+            if (Boolean.TRUE.equals(row[1])) {
+                active += cnt;
+            } else if (Boolean.FALSE.equals(row[1])) {
+                inactive += cnt;
+            }
+            if (row[0] != null) {
+                byRole.merge((UserRole) row[0], cnt, Long::sum);
+            }
+        }
+        return new UserCounts(total, active, inactive, byRole);
+    }
+
+    /**
+     * Totals for all reports, split by status and by urgency. Keys are lower
+     * case, matching how the per-value count queries compared them.
+     */
+    public ReportCounts reportCounts() {
+        long total = 0L;
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<String, Long> byUrgency = new HashMap<>();
+        for (Object[] row : reportRepository.countByStatusAndUrgency()) {
+            long cnt = ((Number) row[2]).longValue();
+            total += cnt;
+            if (row[0] != null) {
+                byStatus.merge(row[0].toString().toLowerCase(Locale.ROOT), cnt, Long::sum);
+            }
+            if (row[1] != null) {
+                byUrgency.merge(row[1].toString().toLowerCase(Locale.ROOT), cnt, Long::sum);
+            }
+        }
+        return new ReportCounts(total, byStatus, byUrgency);
+    }
+
+    /**
+     * Self-care entry counts by activity type and by recorded mood.
+     */
+    public SelfCareCounts selfCareCounts() {
+        Map<SelfCareType, Long> byType = new EnumMap<>(SelfCareType.class);
+        Map<String, Long> byMood = new HashMap<>();
+        for (Object[] row : selfCareRepository.countByTypeAndMood()) {
+            long cnt = ((Number) row[2]).longValue();
+            if (row[0] != null) {
+                try {
+                    byType.merge(SelfCareType.valueOf(row[0].toString()), cnt, Long::sum);
+                } catch (IllegalArgumentException e) {
+                    // Legacy type values are not part of the distribution
+                }
+            }
+            if (row[1] != null) {
+                byMood.merge(row[1].toString().toLowerCase(Locale.ROOT), cnt, Long::sum);
+            }
+        }
+        return new SelfCareCounts(byType, byMood);
+    }
+
+    public record UserCounts(long total, long active, long inactive, Map<UserRole, Long> byRole) {
+        public long role(UserRole role) {
+            return byRole.getOrDefault(role, 0L);
+        }
+    }
+
+    public record ReportCounts(long total, Map<String, Long> byStatus, Map<String, Long> byUrgency) {
+        public long status(String status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+
+        public long urgency(String urgency) {
+            return byUrgency.getOrDefault(urgency, 0L);
+        }
+    }
+
+    public record SelfCareCounts(Map<SelfCareType, Long> byType, Map<String, Long> byMood) {
+        public long type(SelfCareType type) {
+            return byType.getOrDefault(type, 0L);
+        }
+
+        public long mood(String mood) {
+            return byMood.getOrDefault(mood, 0L);
+        }
+    }
+}
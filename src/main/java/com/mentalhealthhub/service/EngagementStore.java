@@ -0,0 +1,240 @@
+package com.mentalhealthhub.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mentalhealthhub.event.EntityChangeEvent;
+import com.mentalhealthhub.model.ForumComment;
+import com.mentalhealthhub.model.ForumPost;
+import com.mentalhealthhub.model.ModuleProgress;
+import com.mentalhealthhub.model.SelfCare;
+import com.mentalhealthhub.model.User;
+import com.mentalhealthhub.repository.ForumCommentRepository;
+import com.mentalhealthhub.repository.ForumPostRepository;
+import com.mentalhealthhub.repository.ModuleProgressRepository;
+import com.mentalhealthhub.repository.SelfCareRepository;
+
+/**
+ * Keeps the raw inputs of the engagement score per user, plus the global
+ * maxima used for normalisation, so a single user's engagement can be read
+ * without recomputing the whole student population.
+ *
+ * Counters follow committed writes of posts, comments, self-care entries and
+ * module progress. Maxima only grow incrementally (a delete cannot lower them
+ * cheaply), so a periodic full recompute corrects any drift.
+ */
+@Service
+public class EngagementStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(EngagementStore.class);
+
+    private final ModuleProgressRepository moduleProgressRepository;
+    private final ForumPostRepository forumPostRepository;
+    private final ForumCommentRepository forumCommentRepository;
+    private final SelfCareRepository selfCareRepository;
+
+    private volatile Map<Long, Counters> counters = new ConcurrentHashMap<>();
+    private final AtomicLong maxPosts = new AtomicLong();
+    private final AtomicLong maxComments = new AtomicLong();
+    private final AtomicLong maxSelfCare = new AtomicLong();
+    private volatile boolean loaded;
+
+    public EngagementStore(ModuleProgressRepository moduleProgressRepository,
+            ForumPostRepository forumPostRepository,
+            ForumCommentRepository forumCommentRepository,
+            SelfCareRepository selfCareRepository) {
+        this.moduleProgressRepository = moduleProgressRepository;
+        this.forumPostRepository = forumPostRepository;
+        this.forumCommentRepository = forumCommentRepository;
+        this.selfCareRepository = selfCareRepository;
+    }
+
+    /**
+     * Engagement (0-100) for one user, computed with the same weights as the
+     * bulk analytics calculation. Users without any activity score 0.
+     */
+    public double getEngagement(Long userId) {
+        ensureLoaded();
+        Counters c = counters.get(userId);
+        if (c == null) {
+            return 0.0;
+        }
+        synchronized (c) {
+            double moduleScore = c.progressCount > 0 ? (double) c.progressSum / c.progressCount : 0.0;
+            return AnalyticsService.engagementScore(moduleScore, c.posts, c.comments, c.selfCare,
+                    maxPosts.get(), maxComments.get(), maxSelfCare.get());
+        }
+    }
+
+    /**
+     * Rebuilds all counters and maxima from the database. Runs at startup and
+     * periodically to correct drift from deletes or writes that bypassed JPA.
+     */
+    @Scheduled(initialDelayString = "${analytics.engagement.initial-delay-ms:30000}",
+            fixedDelayString = "${analytics.engagement.recompute-ms:900000}")
+    public synchronized void recompute() {
+        long started = System.currentTimeMillis();
+        Map<Long, Counters> fresh = new ConcurrentHashMap<>();
+
+        for (Object[] row : moduleProgressRepository.getProgressSumAndCountPerUser()) {
+            Counters c = fresh.computeIfAbsent(((Number) row[0]).longValue(), id -> new Counters());
+            c.progressSum = row[1] != null ? ((Number) row[1]).longValue() : 0L;
+            c.progressCount = row[2] != null ? ((Number) row[2]).longValue() : 0L;
+        }
+        long posts = loadCounts(forumPostRepository.getUserParticipation(), fresh, CounterKind.POSTS);
+        long comments = loadCounts(forumCommentRepository.getUserCommentCounts(), fresh, CounterKind.COMMENTS);
+        long selfCare = loadCounts(selfCareRepository.getUserSelfCareCounts(), fresh, CounterKind.SELF_CARE);
+
+        counters = fresh;
+        maxPosts.set(posts);
+        maxComments.set(comments);
+        maxSelfCare.set(selfCare);
+        loaded = true;
+        logger.debug("Engagement store rebuilt for {} users in {} ms", fresh.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if (!loaded) {
+            // The first lookup rebuilds everything from the database anyway
+            return;
+        }
+        int delta = switch (event.getChangeType()) {
+            case INSERT -> 1;
+            case DELETE -> -1;
+            case UPDATE -> 0;
+        };
+
+        if (event.getEntity() instanceof ForumPost post) {
+            if (delta != 0) {
+                adjust(post.getUser(), CounterKind.POSTS, delta);
+            }
+        } else if (event.getEntity() instanceof ForumComment comment) {
+            if (delta != 0) {
+                adjust(comment.getUser(), CounterKind.COMMENTS, delta);
+            }
+        } else if (event.getEntity() instanceof SelfCare selfCare) {
+            if (delta != 0) {
+                adjust(selfCare.getUser(), CounterKind.SELF_CARE, delta);
+            }
+        } else if (event.getEntity() instanceof ModuleProgress progress) {
+            adjustProgress(event, progress);
+        }
+    }
+
+    private void adjust(User user, CounterKind kind, int delta) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        Counters c = counters.computeIfAbsent(user.getId(), id -> new Counters());
+        long value;
+        synchronized (c) {
+            switch (kind) {
+                case POSTS -> value = c.posts = Math.max(0L, c.posts + delta);
+                case COMMENTS -> value = c.comments = Math.max(0L, c.comments + delta);
+                default -> value = c.selfCare = Math.max(0L, c.selfCare + delta);
+            }
+        }
+        if (delta > 0) {
+            maximumFor(kind).accumulateAndGet(value, Math::max);
+        }
+    }
+
+    private void adjustProgress(EntityChangeEvent event, ModuleProgress progress) {
+        if (progress.getUser() == null || progress.getUser().getId() == null) {
+            return;
+        }
+        Integer current = progress.getProgressPercentage();
+        Counters c = counters.computeIfAbsent(progress.getUser().getId(), id -> new Counters());
+        synchronized (c) {
+            switch (event.getChangeType()) {
+                case INSERT -> {
+                    if (current != null) {
+                        c.progressSum += current;
+                        c.progressCount++;
+                    }
+                }
+                case DELETE -> {
+                    if (current != null) {
+                        c.progressSum -= current;
+                        c.progressCount = Math.max(0L, c.progressCount - 1);
+                    }
+                }
+                case UPDATE -> {
+                    Integer previous = (Integer) event.getPreviousValue("progressPercentage");
+                    if (previous != null) {
+                        c.progressSum -= previous;
+                        c.progressCount--;
+                    }
+                    if (current != null) {
+                        c.progressSum += current;
+                        c.progressCount++;
+                    }
+                    c.progressCount = Math.max(0L, c.progressCount);
+                }
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    recompute();
+                }
+            }
+        }
+    }
+
+    private static long loadCounts(List<Object[]> rows, Map<Long, Counters> target, CounterKind kind) {
+        long max = 0L;
+        for (Object[] row : rows) {
+            if (row[0] == null) {
+                continue;
+            }
+            long cnt = ((Number) row[1]).longValue();
+            Counters c = target.computeIfAbsent(((Number) row[0]).longValue(), id -> new Counters());
+            switch (kind) {
+                case POSTS -> c.posts = cnt;
+                case COMMENTS -> c.comments = cnt;
+                default -> c.selfCare = cnt;
+            }
+            if (cnt > max) {
+                max = cnt;
+            }
+        }
+        return max;
+    }
+
+    private AtomicLong maximumFor(CounterKind kind) {
+        return switch (kind) {
+            case POSTS -> maxPosts;
+            case COMMENTS -> maxComments;
+            default -> maxSelfCare;
+        };
+    }
+
+    private enum CounterKind {
+        POSTS,
+        COMMENTS,
+        SELF_CARE
+    }
+
+    // Raw per-user inputs; guarded by the instance monitor
+    private static final class Counters {
+        long progressSum;
+        long progressCount;
+        long posts;
+        long comments;
+        long selfCare;
+    }
+}
@@ -0,0 +1,292 @@
+package com.mentalhealthhub.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mentalhealthhub.event.EntityChangeEvent;
+import com.mentalhealthhub.model.ForumComment;
+import com.mentalhealthhub.model.ForumPost;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory "hot threads" ranking. A post's hotness is the sum of its
+ * activity (being posted, each view, each comment), every event weighted
+ * and then halved for each half-life that has passed since it happened.
+ *
+ * Scores are kept as log2 of that sum measured in a fixed time frame
+ * (event weight times 2^(half-lives since FRAME_START)). All scores decay
+ * at the same rate, so their order never changes with the passage of time
+ * and an event only has to re-position the one post it touched: O(log n)
+ * in a sorted set, with no periodic re-scoring.
+ *
+ * Only the {@code capacity} hottest posts are tracked; a post that drops
+ * out loses its (by then small) history and starts again from its next
+ * event. The set is checkpointed to forum_post_hotness every minute and
+ * on shutdown and read back at startup; with no checkpoint, it is seeded
+ * from the posts, views and replies of the last ten half-lives.
+ */
+@Service
+public class ForumHotThreads {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForumHotThreads.class);
+
+    private static final long FRAME_START = LocalDateTime.of(2024, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    // Older activity has decayed below 1/1024 of its weight
+    private static final int SEED_HALF_LIVES = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double halfLifeSeconds;
+    private final double postWeight;
+    private final double viewWeight;
+    private final double commentWeight;
+    private final int capacity;
+
+    // Guarded by this
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(
+            Comparator.comparingDouble((Entry entry) -> entry.logScore).thenComparingLong(entry -> entry.postId));
+    private boolean dirty;
+
+    public ForumHotThreads(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${forum.hot.half-life-hours:24}") double halfLifeHours,
+            @Value("${forum.hot.post-weight:20}") double postWeight,
+            @Value("${forum.hot.view-weight:1}") double viewWeight,
+            @Value("${forum.hot.comment-weight:8}") double commentWeight,
+            @Value("${forum.hot.capacity:1000}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.halfLifeSeconds = halfLifeHours * 3600.0;
+        this.postWeight = postWeight;
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.capacity = capacity;
+    }
+
+    // ==================== Ranking ====================
+
+    /**
+     * Ids of the hottest posts, hottest first. A blank category or
+     * "All Topics" ranks every category.
+     */
+    public synchronized List<Long> topPostIds(String category, int limit) {
+        boolean allTopics = category == null || category.isBlank() || category.equals(ForumService.ALL_TOPICS);
+        List<Long> postIds = new ArrayList<>(limit);
+        for (Entry entry : ranking.descendingSet()) {
+            if (postIds.size() >= limit) {
+                break;
+            }
+            if (allTopics || category.equals(entry.category)) {
+                postIds.add(entry.postId);
+            }
+        }
+        return postIds;
+    }
+
+    // ==================== Activity ====================
+
+    public void recordView(ForumPost post) {
+        record(post.getId(), post.getCategory(), viewWeight, LocalDateTime.now());
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.isFor(ForumPost.class)) {
+            ForumPost post = (ForumPost) event.getEntity();
+            switch (event.getChangeType()) {
+                case INSERT -> record(post.getId(), post.getCategory(), postWeight,
+                        post.getCreatedAt() != null ? post.getCreatedAt() : LocalDateTime.now());
+                case UPDATE -> updateCategory(post.getId(), post.getCategory());
+                case DELETE -> remove(post.getId());
+            }
+        } else if (event.isFor(ForumComment.class)
+                && event.getChangeType() == EntityChangeEvent.ChangeType.INSERT) {
+            ForumComment comment = (ForumComment) event.getEntity();
+            ForumPost post = comment.getPost();
+            record(post.getId(), post.getCategory(), commentWeight,
+                    comment.getCreatedAt() != null ? comment.getCreatedAt() : LocalDateTime.now());
+        }
+    }
+
+    private void record(Long postId, String category, double weight, LocalDateTime at) {
+        if (weight > 0) {
+            add(postId, category, logWeight(weight, at));
+        }
+    }
+
+    private synchronized void add(Long postId, String category, double logWeight) {
+        Entry entry = entries.get(postId);
+        if (entry == null) {
+            entry = new Entry(postId, category, logWeight);
+            entries.put(postId, entry);
+        } else {
+            ranking.remove(entry);
+            entry.logScore = logSum(entry.logScore, logWeight);
+            entry.category = category;
+        }
+        ranking.add(entry);
+        while (ranking.size() > capacity) {
+            entries.remove(ranking.pollFirst().postId);
+        }
+        dirty = true;
+    }
+
+    private synchronized void updateCategory(Long postId, String category) {
+        Entry entry = entries.get(postId);
+        if (entry != null) {
+            entry.category = category;
+        }
+    }
+
+    private synchronized void remove(Long postId) {
+        Entry entry = entries.remove(postId);
+        if (entry != null) {
+            ranking.remove(entry);
+            dirty = true;
+        }
+    }
+
+    // log2 of weight * 2^(half-lives from FRAME_START to the event)
+    private double logWeight(double weight, LocalDateTime at) {
+        double halfLives = (at.toEpochSecond(ZoneOffset.UTC) - FRAME_START) / halfLifeSeconds;
+        return Math.log(weight) / Math.log(2) + halfLives;
+    }
+
+    // log2(2^a + 2^b) without leaving the log domain
+    private static double logSum(double a, double b) {
+        double high = Math.max(a, b);
+        double low = Math.min(a, b);
+        return high + Math.log1p(Math.pow(2, low - high)) / Math.log(2);
+    }
+
+    // ==================== Checkpoint ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        try {
+            List<Object[]> rows = jdbcTemplate.query(
+                    "SELECT h.post_id, h.log_score, p.category, h.checkpointed_at FROM forum_post_hotness h "
+                            + "JOIN forum_posts p ON p.id = h.post_id",
+                    (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getDouble(2), rs.getString(3),
+                            rs.getTimestamp(4) });
+            if (rows.isEmpty()) {
+                seed(LocalDateTime.now().minusSeconds((long) (SEED_HALF_LIVES * halfLifeSeconds)));
+                return;
+            }
+            LocalDateTime checkpointedAt = LocalDateTime.MIN;
+            for (Object[] row : rows) {
+                add((Long) row[0], (String) row[2], (Double) row[1]);
+                checkpointedAt = max(checkpointedAt, ((Timestamp) row[3]).toLocalDateTime());
+            }
+            // Posts created after the checkpoint, e.g. before a crash
+            seed(checkpointedAt);
+            logger.info("Restored {} hot forum threads from checkpoint", rows.size());
+        } catch (Exception e) {
+            logger.error("Error restoring hot forum threads", e);
+        }
+    }
+
+    /**
+     * Forgets the ranking and seeds it again from the posts table, e.g.
+     * after a bulk import that bypassed JPA.
+     */
+    public void reseed() {
+        synchronized (this) {
+            entries.clear();
+            ranking.clear();
+        }
+        seed(LocalDateTime.now().minusSeconds((long) (SEED_HALF_LIVES * halfLifeSeconds)));
+        checkpoint();
+    }
+
+    // Credits each post created since the given time with its stored views and replies at its creation time
+    private void seed(LocalDateTime since) {
+        long started = System.currentTimeMillis();
+        int[] seeded = new int[1];
+        jdbcTemplate.query("SELECT id, category, created_at, views, replies FROM forum_posts WHERE created_at > ?",
+                rs -> {
+                    Long postId = rs.getLong("id");
+                    LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+                    double weight = postWeight + rs.getInt("views") * viewWeight + rs.getInt("replies") * commentWeight;
+                    synchronized (this) {
+                        if (entries.containsKey(postId)) {
+                            return;
+                        }
+                    }
+                    record(postId, rs.getString("category"), weight, createdAt);
+                    seeded[0]++;
+                }, Timestamp.valueOf(since));
+        logger.info("Seeded {} hot forum threads in {} ms", seeded[0], System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Replaces the checkpoint with the current candidate set.
+     */
+    @Scheduled(fixedDelayString = "${forum.hot.checkpoint-ms:60000}")
+    public void checkpoint() {
+        List<Object[]> rows;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            rows = new ArrayList<>(ranking.size());
+            for (Entry entry : ranking) {
+                rows.add(new Object[] { entry.postId, entry.logScore, now });
+            }
+            dirty = false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM forum_post_hotness");
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO forum_post_hotness (post_id, log_score, checkpointed_at) VALUES (?, ?, ?)", rows);
+            });
+        } catch (Exception e) {
+            logger.error("Error checkpointing hot forum threads; will retry", e);
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static final class Entry {
+        private final Long postId;
+        private String category;
+        private double logScore;
+
+        private Entry(Long postId, String category, double logScore) {
+            this.postId = postId;
+            this.category = category;
+            this.logScore = logScore;
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.mentalhealthhub.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mentalhealthhub.dto.ForumSearchHitDTO;
+import com.mentalhealthhub.event.EntityChangeEvent;
+import com.mentalhealthhub.model.ForumComment;
+import com.mentalhealthhub.model.ForumPost;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * On-disk Lucene index of forum posts and comments, one document each.
+ * Change events are turned into index writes on a single background thread,
+ * so saving a post never waits for the index; searchers see the writes at
+ * the next refresh (about a second) and they reach disk at the next commit.
+ * Anything lost between commits, or written behind JPA's back, is repaired
+ * by a rebuild from the database, which also runs at startup when the
+ * index and the tables disagree on the document count.
+ *
+ * The index directory is locked by one process; each instance needs its own.
+ */
+@Service
+public class ForumSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForumSearchIndex.class);
+
+    public static final int MAX_RESULTS = 100;
+    private static final int REBUILD_BATCH_SIZE = 5000;
+
+    private static final String TYPE_POST = "POST";
+    private static final String TYPE_COMMENT = "COMMENT";
+
+    // Field names
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String POST_ID = "postId";
+    private static final String COMMENT_ID = "commentId";
+    private static final String CATEGORY = "category";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    private static final String POST_TITLE = "postTitle";
+    private static final String CREATED_AT = "createdAt";
+
+    // Offsets in the postings let the highlighter skip re-analysing the text
+    private static final FieldType TEXT_WITH_OFFSETS = new FieldType();
+    static {
+        TEXT_WITH_OFFSETS.setTokenized(true);
+        TEXT_WITH_OFFSETS.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS_AND_OFFSETS);
+        TEXT_WITH_OFFSETS.freeze();
+    }
+
+    private static final FieldType STORED_TEXT_WITH_OFFSETS = new FieldType(TEXT_WITH_OFFSETS);
+    static {
+        STORED_TEXT_WITH_OFFSETS.setStored(true);
+        STORED_TEXT_WITH_OFFSETS.freeze();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Path indexDir;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "forum-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    // Keeps a half-built index from being exposed to searchers
+    private volatile boolean rebuilding;
+
+    public ForumSearchIndex(JdbcTemplate jdbcTemplate,
+            @Value("${forum.search.index-dir:data/forum-index}") String indexDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexDir = Path.of(indexDir);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(indexDir);
+        directory = FSDirectory.open(indexDir);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+        logger.info("Forum search index opened at {} with {} documents", indexDir.toAbsolutePath(),
+                writer.getDocStats().numDocs);
+    }
+
+    // ==================== Search ====================
+
+    /**
+     * Best-matching posts and comments for a free-text query, with the
+     * matched terms of each snippet wrapped in {@code <mark>}. The query
+     * takes simple syntax ("quoted phrases", -exclusions, prefix*); all
+     * terms must match. A blank category or "All Topics" searches all.
+     */
+    public List<ForumSearchHitDTO> search(String queryText, String category, int limit) {
+        List<ForumSearchHitDTO> hits = new ArrayList<>();
+        if (queryText == null || queryText.isBlank()) {
+            return hits;
+        }
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, Map.of(TITLE, 2.0f, CONTENT, 1.0f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query textQuery = parser.parse(queryText);
+        if (textQuery == null) {
+            // Only stop words or operators
+            return hits;
+        }
+        Query query = textQuery;
+        if (category != null && !category.isBlank() && !category.equals(ForumService.ALL_TOPICS)) {
+            query = new BooleanQuery.Builder()
+                    .add(textQuery, BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(CATEGORY, category)), BooleanClause.Occur.FILTER)
+                    .build();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, Math.max(1, Math.min(limit, MAX_RESULTS)));
+                UnifiedHighlighter highlighter = UnifiedHighlighter.builder(searcher, analyzer)
+                        .withFormatter(new DefaultPassageFormatter("<mark>", "</mark>", " … ", true))
+                        .build();
+                String[] snippets = highlighter.highlight(CONTENT, query, topDocs, 2);
+                StoredFields storedFields = searcher.storedFields();
+                for (int i = 0; i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    hits.add(toHit(storedFields.document(scoreDoc.doc), snippets[i], scoreDoc.score));
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Forum search failed", e);
+        }
+        return hits;
+    }
+
+    private static ForumSearchHitDTO toHit(Document document, String snippet, float score) {
+        ForumSearchHitDTO hit = new ForumSearchHitDTO();
+        hit.setType(document.get(TYPE));
+        hit.setPostId(Long.valueOf(document.get(POST_ID)));
+        if (document.getField(COMMENT_ID) != null) {
+            hit.setCommentId(document.getField(COMMENT_ID).numericValue().longValue());
+        }
+        hit.setPostTitle(document.get(POST_TITLE));
+        hit.setCategory(document.get(CATEGORY));
+        String createdAt = document.get(CREATED_AT);
+        hit.setCreatedAt(createdAt != null ? LocalDateTime.parse(createdAt) : null);
+        hit.setSnippet(snippet);
+        hit.setScore(score);
+        return hit;
+    }
+
+    // ==================== Incremental updates ====================
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        // Documents are built here, on the committing thread, while the entities are still loaded
+        if (event.isFor(ForumPost.class)) {
+            ForumPost post = (ForumPost) event.getEntity();
+            Long postId = post.getId();
+            if (event.getChangeType() == EntityChangeEvent.ChangeType.DELETE) {
+                // Its comments go with it
+                submit(() -> writer.deleteDocuments(new Term(POST_ID, String.valueOf(postId))));
+                return;
+            }
+            Document document = postDocument(postId, post.getTitle(), post.getContent(), post.getCategory(),
+                    post.getCreatedAt());
+            submit(() -> writer.updateDocument(new Term(KEY, document.get(KEY)), document));
+            if (event.hasPreviousState() && (changed(event, "title", post.getTitle())
+                    || changed(event, "category", post.getCategory()))) {
+                // Comments carry the post's title and category
+                submit(() -> reindexComments(postId));
+            }
+        } else if (event.isFor(ForumComment.class)) {
+            ForumComment comment = (ForumComment) event.getEntity();
+            String key = TYPE_COMMENT + ":" + comment.getId();
+            if (event.getChangeType() == EntityChangeEvent.ChangeType.DELETE) {
+                submit(() -> writer.deleteDocuments(new Term(KEY, key)));
+                return;
+            }
+            ForumPost post = comment.getPost();
+            Document document = commentDocument(comment.getId(), post.getId(), post.getTitle(),
+                    comment.getContent(), post.getCategory(), comment.getCreatedAt());
+            submit(() -> writer.updateDocument(new Term(KEY, key), document));
+        }
+    }
+
+    private static boolean changed(EntityChangeEvent event, String property, Object current) {
+        Object previous = event.getPreviousValue(property);
+        return previous == null ? current != null : !previous.equals(current);
+    }
+
+    private Future<?> submit(IndexTask task) {
+        return indexer.submit(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.error("Error updating forum search index; a rebuild will repair it", e);
+            }
+        });
+    }
+
+    /**
+     * Makes the writes since the last refresh visible to searches.
+     */
+    @Scheduled(fixedDelayString = "${forum.search.refresh-ms:1000}")
+    public void refresh() {
+        if (rebuilding) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.error("Error refreshing forum search index", e);
+        }
+    }
+
+    /**
+     * Makes the writes since the last commit durable. Committing fsyncs
+     * the index files, so it runs far less often than the refresh.
+     */
+    @Scheduled(fixedDelayString = "${forum.search.commit-ms:60000}")
+    public void commit() {
+        if (rebuilding || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        submit(writer::commit);
+    }
+
+    // ==================== Rebuild ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        submit(() -> {
+            long expected = count("forum_posts") + count("forum_comments");
+            long indexed = writer.getDocStats().numDocs;
+            if (indexed != expected) {
+                logger.info("Forum search index has {} documents for {} posts and comments; rebuilding",
+                        indexed, expected);
+                reindexAll();
+            }
+        });
+    }
+
+    /**
+     * Starts regenerating the index from the database and returns at once.
+     * Changes saved meanwhile are applied after the rebuild, in order.
+     */
+    public Future<?> requestRebuild() {
+        return submit(this::reindexAll);
+    }
+
+    /**
+     * Regenerates the index from the database and waits for it, e.g. after a
+     * bulk import that bypassed JPA.
+     */
+    public void rebuild() {
+        try {
+            requestRebuild().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Error rebuilding forum search index", e);
+        }
+    }
+
+    // Runs on the indexer thread only
+    private void reindexAll() throws IOException {
+        long started = System.currentTimeMillis();
+        rebuilding = true;
+        try {
+            writer.deleteAll();
+            long posts = indexPosts();
+            long comments = indexComments(null);
+            writer.commit();
+            searcherManager.maybeRefresh();
+            logger.info("Forum search index rebuilt with {} posts and {} comments in {} ms", posts, comments,
+                    System.currentTimeMillis() - started);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    private void reindexComments(Long postId) throws IOException {
+        indexComments(postId);
+    }
+
+    // Keyset batches by id so neither table is read in one go
+    private long indexPosts() throws IOException {
+        long afterId = 0L;
+        long indexed = 0;
+        while (true) {
+            List<Document> batch = jdbcTemplate.query(
+                    "SELECT id, title, content, category, created_at FROM forum_posts "
+                            + "WHERE id > ? ORDER BY id LIMIT ?",
+                    (rs, rowNum) -> postDocument(rs.getLong("id"), rs.getString("title"), rs.getString("content"),
+                            rs.getString("category"), toLocalDateTime(rs.getTimestamp("created_at"))),
+                    afterId, REBUILD_BATCH_SIZE);
+            for (Document document : batch) {
+                writer.addDocument(document);
+            }
+            indexed += batch.size();
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                return indexed;
+            }
+            afterId = Long.parseLong(batch.get(batch.size() - 1).get(POST_ID));
+        }
+    }
+
+    // All comments, or only those of one post
+    private long indexComments(Long onlyPostId) throws IOException {
+        String sql = "SELECT c.id, c.post_id, c.content, c.created_at, p.title, p.category "
+                + "FROM forum_comments c JOIN forum_posts p ON p.id = c.post_id WHERE c.id > ? "
+                + (onlyPostId != null ? "AND c.post_id = ? " : "")
+                + "ORDER BY c.id LIMIT ?";
+        long afterId = 0L;
+        long indexed = 0;
+        while (true) {
+            Object[] args = onlyPostId != null
+                    ? new Object[] { afterId, onlyPostId, REBUILD_BATCH_SIZE }
+                    : new Object[] { afterId, REBUILD_BATCH_SIZE };
+            List<Document> batch = jdbcTemplate.query(sql,
+                    (rs, rowNum) -> commentDocument(rs.getLong("id"), rs.getLong("post_id"), rs.getString("title"),
+                            rs.getString("content"), rs.getString("category"),
+                            toLocalDateTime(rs.getTimestamp("created_at"))),
+                    args);
+            for (Document document : batch) {
+                // Rebuilds start from an empty index, but single-post reindexes do not
+                writer.updateDocument(new Term(KEY, document.get(KEY)), document);
+            }
+            indexed += batch.size();
+            if (batch.size() < REBUILD_BATCH_SIZE) {
+                return indexed;
+            }
+            afterId = batch.get(batch.size() - 1).getField(COMMENT_ID).numericValue().longValue();
+        }
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return count != null ? count : 0L;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    // ==================== Documents ====================
+
+    private static Document postDocument(Long id, String title, String content, String category,
+            LocalDateTime createdAt) {
+        Document document = new Document();
+        document.add(new StringField(KEY, TYPE_POST + ":" + id, Field.Store.YES));
+        document.add(new StringField(TYPE, TYPE_POST, Field.Store.YES));
+        document.add(new StringField(POST_ID, String.valueOf(id), Field.Store.YES));
+        addCommonFields(document, title, content, category, createdAt);
+        if (title != null) {
+            document.add(new Field(TITLE, title, TEXT_WITH_OFFSETS));
+        }
+        return document;
+    }
+
+    private static Document commentDocument(Long id, Long postId, String postTitle, String content,
+            String category, LocalDateTime createdAt) {
+        Document document = new Document();
+        document.add(new StringField(KEY, TYPE_COMMENT + ":" + id, Field.Store.YES));
+        document.add(new StringField(TYPE, TYPE_COMMENT, Field.Store.YES));
+        document.add(new StringField(POST_ID, String.valueOf(postId), Field.Store.YES));
+        document.add(new StoredField(COMMENT_ID, id));
+        addCommonFields(document, postTitle, content, category, createdAt);
+        return document;
+    }
+
+    private static void addCommonFields(Document document, String postTitle, String content, String category,
+            LocalDateTime createdAt) {
+        document.add(new StringField(CATEGORY, category != null ? category : "General", Field.Store.YES));
+        document.add(new Field(CONTENT, content != null ? content : "", STORED_TEXT_WITH_OFFSETS));
+        if (postTitle != null) {
+            document.add(new StoredField(POST_TITLE, postTitle));
+        }
+        if (createdAt != null) {
+            document.add(new StoredField(CREATED_AT, createdAt.toString()));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        indexer.shutdown();
+        try {
+            if (!indexer.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Forum search indexer did not finish; the next start will rebuild the index");
+                indexer.shutdownNow();
+            }
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("Error closing forum search index", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexTask {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,225 @@
+package com.mentalhealthhub.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mentalhealthhub.dto.ForumCommentDTO;
+import com.mentalhealthhub.model.ForumComment;
+import com.mentalhealthhub.model.ForumCounter;
+import com.mentalhealthhub.model.ForumCounterType;
+import com.mentalhealthhub.model.ForumPost;
+import com.mentalhealthhub.model.User;
+import com.mentalhealthhub.repository.ForumCommentRepository;
+import com.mentalhealthhub.repository.ForumCounterRepository;
+import com.mentalhealthhub.repository.ForumPostRepository;
+
+/**
+ * Forum feed and writes. The feed is read in keyset pages of
+ * (createdAt, id), newest first, so any page costs one index range read
+ * however many posts exist. Forum-wide totals come from forum_counters,
+ * which posts and comments update in their own transaction; the table is
+ * rebuilt from the source tables when empty at startup and after bulk
+ * imports.
+ */
+@Service
+public class ForumService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForumService.class);
+
+    public static final int FEED_PAGE_SIZE = 20;
+    public static final int MAX_FEED_PAGE_SIZE = 100;
+    public static final int COMMENT_PAGE_SIZE = 50;
+    public static final int MAX_COMMENT_PAGE_SIZE = 200;
+    public static final String ALL_TOPICS = "All Topics";
+
+    private final ForumPostRepository forumPostRepository;
+    private final ForumCommentRepository forumCommentRepository;
+    private final ForumCounterRepository forumCounterRepository;
+    private final ForumHotThreads forumHotThreads;
+    private final TransactionTemplate transactionTemplate;
+
+    public ForumService(ForumPostRepository forumPostRepository,
+            ForumCommentRepository forumCommentRepository,
+            ForumCounterRepository forumCounterRepository,
+            ForumHotThreads forumHotThreads,
+            PlatformTransactionManager transactionManager) {
+        this.forumPostRepository = forumPostRepository;
+        this.forumCommentRepository = forumCommentRepository;
+        this.forumCounterRepository = forumCounterRepository;
+        this.forumHotThreads = forumHotThreads;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // ==================== Feed ====================
+
+    /**
+     * Up to {@code size} posts after the cursor, newest first. A blank
+     * category or "All Topics" reads every category.
+     */
+    public List<ForumPost> getFeed(String category, FeedCursor cursor, int size) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE)));
+        if (category == null || category.isBlank() || category.equals(ALL_TOPICS)) {
+            return forumPostRepository.findFeedPage(cursor.createdAt(), cursor.id(), page);
+        }
+        return forumPostRepository.findCategoryFeedPage(category, cursor.createdAt(), cursor.id(), page);
+    }
+
+    /**
+     * Up to {@code size} of the hottest posts, hottest first, read from the
+     * in-memory ranking and loaded by id.
+     */
+    public List<ForumPost> getHotPosts(String category, int size) {
+        List<Long> postIds = forumHotThreads.topPostIds(category, Math.max(1, Math.min(size, MAX_FEED_PAGE_SIZE)));
+        Map<Long, ForumPost> posts = new HashMap<>();
+        for (ForumPost post : forumPostRepository.findAllById(postIds)) {
+            posts.put(post.getId(), post);
+        }
+        List<ForumPost> ranked = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            ForumPost post = posts.get(postId);
+            if (post != null) {
+                ranked.add(post);
+            }
+        }
+        return ranked;
+    }
+
+    // ==================== Threads ====================
+
+    /**
+     * Up to {@code size} comments of a post after the cursor, oldest first,
+     * without their post or author.
+     */
+    public List<ForumCommentDTO> getThreadPage(Long postId, ThreadCursor cursor, int size) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_COMMENT_PAGE_SIZE)));
+        List<Object[]> rows = forumCommentRepository.findThreadPage(postId, cursor.createdAt(), cursor.id(), page);
+        List<ForumCommentDTO> comments = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            comments.add(new ForumCommentDTO((Long) row[0], (String) row[1], (LocalDateTime) row[2]));
+        }
+        return comments;
+    }
+
+    /**
+     * Forum-wide post and comment totals.
+     */
+    public ForumTotals getTotals() {
+        long posts = 0;
+        long comments = 0;
+        for (ForumCounter counter : forumCounterRepository.findAll()) {
+            if (counter.getName() == ForumCounterType.POSTS) {
+                posts = counter.getCounterValue();
+            } else if (counter.getName() == ForumCounterType.COMMENTS) {
+                comments = counter.getCounterValue();
+            }
+        }
+        return new ForumTotals(posts, comments);
+    }
+
+    // ==================== Writes ====================
+
+    @Transactional
+    public ForumPost createPost(User user, String title, String content, String category) {
+        ForumPost post = ForumPost.builder()
+                .user(user)
+                .title(title)
+                .content(content)
+                .category(category)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .views(0)
+                .replies(0)
+                .build();
+        forumPostRepository.save(post);
+        forumCounterRepository.addToCounter(ForumCounterType.POSTS.name(), 1L);
+        return post;
+    }
+
+    @Transactional
+    public ForumComment addComment(ForumPost post, User user, String content) {
+        ForumComment comment = new ForumComment();
+        comment.setPost(post);
+        comment.setUser(user);
+        comment.setContent(content);
+        comment.setCreatedAt(LocalDateTime.now());
+        comment.setUpdatedAt(LocalDateTime.now());
+        forumCommentRepository.save(comment);
+        // Update replies count without rewriting the views ForumViewCounter adds
+        forumPostRepository.refreshReplies(post.getId());
+        forumCounterRepository.addToCounter(ForumCounterType.COMMENTS.name(), 1L);
+        return comment;
+    }
+
+    // ==================== Rebuild ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (forumCounterRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling forum counters", e);
+        }
+    }
+
+    /**
+     * Recounts every total from the source tables in one transaction, e.g.
+     * after a bulk import that bypassed this service.
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            forumCounterRepository.deleteAllCounters();
+            forumCounterRepository.backfillPosts();
+            forumCounterRepository.backfillComments();
+        });
+        logger.info("Forum counters rebuilt in {} ms", System.currentTimeMillis() - started);
+    }
+
+    public record ForumTotals(long posts, long comments) {
+    }
+
+    /**
+     * Keyset position in thread order: comments created after (createdAt, id) follow.
+     */
+    public record ThreadCursor(LocalDateTime createdAt, Long id) {
+
+        // Position before the oldest comment; DATETIME starts at year 1000
+        public static ThreadCursor start() {
+            return new ThreadCursor(LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+        }
+
+        public static ThreadCursor after(ForumCommentDTO comment) {
+            return new ThreadCursor(comment.getCreatedAt(), comment.getId());
+        }
+    }
+
+    /**
+     * Keyset position in feed order: posts created before (createdAt, id) follow.
+     */
+    public record FeedCursor(LocalDateTime createdAt, Long id) {
+
+        // Position before the newest post
+        public static FeedCursor start() {
+            return new FeedCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+        }
+
+        public static FeedCursor after(ForumPost post) {
+            return new FeedCursor(post.getCreatedAt(), post.getId());
+        }
+    }
+}
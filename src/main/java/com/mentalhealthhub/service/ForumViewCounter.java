@@ -0,0 +1,97 @@
+package com.mentalhealthhub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mentalhealthhub.model.ForumPost;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for forum post view counts. A page view only
+ * increments an in-memory {@link LongAdder} for the post, so concurrent
+ * readers of a popular thread neither write nor contend on its row. The
+ * buffered counts are added to forum_posts in one JDBC batch on a short
+ * fixed delay; a failed flush puts its counts back for the next one.
+ *
+ * The adders are kept between flushes (one per viewed post) because
+ * removing one could drop a view recorded on it concurrently.
+ */
+@Service
+public class ForumViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ForumViewCounter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsSnapshotCache snapshotCache;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public ForumViewCounter(JdbcTemplate jdbcTemplate, AnalyticsSnapshotCache snapshotCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotCache = snapshotCache;
+    }
+
+    public void recordView(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Views of a post recorded since the last flush, to add to the stored count.
+     */
+    public long pendingViews(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    /**
+     * Adds the buffered counts to forum_posts, one batched
+     * {@code views = views + ?} update per post. The update publishes no
+     * entity event, so the ForumPost data version is bumped here for the
+     * analytics sections and validators built from view totals.
+     */
+    @Scheduled(fixedDelayString = "${forum.views.flush-ms:5000}")
+    public synchronized void flush() {
+        // Sorted by id so concurrent writers lock the rows in the same order
+        Map<Long, Long> drained = new TreeMap<>();
+        pending.forEach((postId, adder) -> {
+            long views = adder.sumThenReset();
+            if (views != 0L) {
+                drained.put(postId, views);
+            }
+        });
+        if (drained.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(drained.size());
+        drained.forEach((postId, views) -> rows.add(new Object[] { views, postId }));
+        try {
+            int[] updated = jdbcTemplate.batchUpdate("UPDATE forum_posts SET views = views + ? WHERE id = ?", rows);
+            for (int i = 0; i < updated.length; i++) {
+                // Stop buffering for deleted posts
+                if (updated[i] == 0) {
+                    Long postId = (Long) rows.get(i)[1];
+                    pending.computeIfPresent(postId, (id, adder) -> adder.sum() == 0L ? null : adder);
+                }
+            }
+            snapshotCache.touch(ForumPost.class);
+        } catch (Exception e) {
+            logger.error("Error flushing views of " + drained.size() + " forum posts; will retry", e);
+            drained.forEach((postId, views) -> pending.computeIfAbsent(postId, id -> new LongAdder()).add(views));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,60 @@
+package com.mentalhealthhub.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default reminder sink: logs each reminder and keeps the latest few per user
+ * in memory for the in-app notifications feed.
+ */
+@Component
+public class InAppReminderNotifier implements ReminderNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(InAppReminderNotifier.class);
+
+    private static final int MAX_PER_USER = 20;
+
+    private final Map<Long, Deque<Reminder>> inbox = new ConcurrentHashMap<>();
+
+    @Override
+    public void notify(Reminder reminder) {
+        logger.info("Reminder: appointment {} starts at {} (in {} minutes)", reminder.appointmentId(),
+                reminder.startsAt(), reminder.leadMinutes());
+        deliver(reminder.studentId(), reminder);
+        deliver(reminder.professionalId(), reminder);
+    }
+
+    /**
+     * Reminders delivered to a user, newest first.
+     */
+    public List<Reminder> recentReminders(Long userId) {
+        Deque<Reminder> reminders = inbox.get(userId);
+        if (reminders == null) {
+            return List.of();
+        }
+        synchronized (reminders) {
+            return new ArrayList<>(reminders);
+        }
+    }
+
+    private void deliver(Long userId, Reminder reminder) {
+        if (userId == null) {
+            return;
+        }
+        Deque<Reminder> reminders = inbox.computeIfAbsent(userId, id -> new ArrayDeque<>());
+        synchronized (reminders) {
+            reminders.addFirst(reminder);
+            if (reminders.size() > MAX_PER_USER) {
+                reminders.removeLast();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.mentalhealthhub.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivery channel for appointment reminders. Every bean implementing this
+ * interface receives each reminder when it falls due; implementations run on
+ * the reminder timer thread and must hand slow work (mail, push) off.
+ */
+public interface ReminderNotifier {
+
+    void notify(Reminder reminder);
+
+    /**
+     * A reminder that an approved appointment starts in {@code leadMinutes}.
+     */
+    record Reminder(Long appointmentId, Long studentId, Long professionalId, LocalDateTime startsAt,
+            int leadMinutes) {
+    }
+}
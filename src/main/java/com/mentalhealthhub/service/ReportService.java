@@ -18,9 +18,11 @@ import com.mentalhealthhub.repository.ReportRepository;
 public class ReportService {
 
     private final ReportRepository reportRepository;
+    private final DashboardCounters dashboardCounters;
 
-    public ReportService(ReportRepository reportRepository) {
+    public ReportService(ReportRepository reportRepository, DashboardCounters dashboardCounters) {
         this.reportRepository = reportRepository;
+        this.dashboardCounters = dashboardCounters;
     }
 
     // ==================== CREATE Operations ====================
@@ -162,16 +164,17 @@ public class ReportService {
      * Get report statistics for dashboard
      */
     public Map<String, Long> getReportStatistics() {
+        DashboardCounters.ReportCounts counts = dashboardCounters.reportCounts();
         return Map.of(
-                "pending", reportRepository.countByStatus("pending"),
-                "in_progress", reportRepository.countByStatus("in_progress"),
-                "reviewed", reportRepository.countByStatus("reviewed"),
-                "resolved", reportRepository.countByStatus("resolved"),
-                "closed", reportRepository.countByStatus("closed"),
-                "low_urgency", reportRepository.countByUrgency("low"),
-                "medium_urgency", reportRepository.countByUrgency("medium"),
-                "high_urgency", reportRepository.countByUrgency("high"),
-                "critical_urgency", reportRepository.countByUrgency("critical"));
+                "pending", counts.status("pending"),
+                "in_progress", counts.status("in_progress"),
+                "reviewed", counts.status("reviewed"),
+                "resolved", counts.status("resolved"),
+                "closed", counts.status("closed"),
+                "low_urgency", counts.urgency("low"),
+                "medium_urgency", counts.urgency("medium"),
+                "high_urgency", counts.urgency("high"),
+                "critical_urgency", counts.urgency("critical"));
     }
 
     /**
@@ -0,0 +1,202 @@
+package com.mentalhealthhub.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mentalhealthhub.event.EntityChangeEvent;
+import com.mentalhealthhub.model.Appointment;
+import com.mentalhealthhub.model.User;
+import com.mentalhealthhub.repository.AppointmentRepository;
+import com.mentalhealthhub.util.SlotTable;
+
+/**
+ * Caches which day slots of a professional are taken by pending or approved
+ * appointments, as one bitmask per (professional, date). Bit i is set when
+ * slot i of the day's {@link SlotTable} overlaps an appointment.
+ *
+ * A missing day is built with a single projection query. Committed
+ * appointment writes evict the day they were on and the day they moved to, so
+ * creates, approvals, rejections, cancellations and deletes are all reflected
+ * on the next read.
+ */
+@Component
+public class SlotAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotAvailabilityIndex.class);
+
+    private final AppointmentRepository appointmentRepository;
+    private final WorkingCalendars workingCalendars;
+    private final Map<DayKey, Integer> masks = new ConcurrentHashMap<>();
+    // Bumped before every eviction, so a mask loaded across a write is not stored
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public SlotAvailabilityIndex(AppointmentRepository appointmentRepository,
+            WorkingCalendars workingCalendars,
+            @Value("${appointments.availability.max-entries:50000}") int maxEntries) {
+        this.appointmentRepository = appointmentRepository;
+        this.workingCalendars = workingCalendars;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Mask of the occupied slots of a professional's day.
+     */
+    public int occupiedMask(Long professionalId, LocalDate date) {
+        DayKey key = new DayKey(professionalId, date);
+        Integer cached = masks.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        AtomicLong version = versions.computeIfAbsent(professionalId, id -> new AtomicLong());
+        long before = version.get();
+        SlotTable table = workingCalendars.tableFor(professionalId, date);
+        int mask = 0;
+        for (Object[] row : appointmentRepository.findOccupiedIntervals(date, professionalId)) {
+            mask |= table.overlapMask((LocalTime) row[0], (LocalTime) row[1]);
+        }
+
+        if (masks.size() >= maxEntries) {
+            prune();
+        }
+        int loaded = mask;
+        masks.compute(key, (k, current) -> version.get() == before ? Integer.valueOf(loaded) : current);
+        return mask;
+    }
+
+    /**
+     * Occupied masks of several professionals over the days from {@code from}
+     * to {@code to} inclusive, indexed by day offset from {@code from}. Days
+     * that are not cached are loaded together with one query, and cached only
+     * as far as the cache has room for them.
+     */
+    public Map<Long, int[]> occupiedMasks(List<Long> professionalIds, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Map<Long, int[]> result = new HashMap<>();
+        Map<Long, Long> missing = new HashMap<>();
+        for (Long professionalId : professionalIds) {
+            int[] dayMasks = new int[days];
+            result.put(professionalId, dayMasks);
+            for (int d = 0; d < days; d++) {
+                Integer cached = masks.get(new DayKey(professionalId, from.plusDays(d)));
+                if (cached == null) {
+                    missing.putIfAbsent(professionalId,
+                            versions.computeIfAbsent(professionalId, id -> new AtomicLong()).get());
+                } else {
+                    dayMasks[d] = cached;
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        // Loaded days start from an empty mask, cached days keep their value
+        Map<Long, int[]> loaded = new HashMap<>();
+        missing.keySet().forEach(id -> loaded.put(id, new int[days]));
+        for (Object[] row : appointmentRepository.findOccupiedIntervalsInRange(from, to,
+                new ArrayList<>(missing.keySet()))) {
+            Long professionalId = ((Number) row[0]).longValue();
+            LocalDate date = (LocalDate) row[1];
+            int d = (int) ChronoUnit.DAYS.between(from, date);
+            loaded.get(professionalId)[d] |= workingCalendars.tableFor(professionalId, date)
+                    .overlapMask((LocalTime) row[2], (LocalTime) row[3]);
+        }
+
+        // A range that would take more than half the cache, such as a pool-wide
+        // calendar month, is served uncached rather than evicting everything else
+        int needed = missing.size() * days;
+        boolean cacheable = needed <= maxEntries / 2;
+        if (cacheable && masks.size() + needed >= maxEntries) {
+            prune();
+        }
+        int room = cacheable ? maxEntries - masks.size() : 0;
+        for (Map.Entry<Long, int[]> entry : loaded.entrySet()) {
+            Long professionalId = entry.getKey();
+            AtomicLong version = versions.get(professionalId);
+            long before = missing.get(professionalId);
+            for (int d = 0; d < days && room > 0; d++, room--) {
+                int mask = entry.getValue()[d];
+                masks.compute(new DayKey(professionalId, from.plusDays(d)),
+                        (k, current) -> current == null && version.get() == before ? Integer.valueOf(mask) : current);
+            }
+            result.put(professionalId, entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * True when no pending or approved appointment overlaps [start, end).
+     */
+    public boolean isFree(Long professionalId, LocalDate date, LocalTime start, LocalTime end) {
+        return (occupiedMask(professionalId, date)
+                & workingCalendars.tableFor(professionalId, date).overlapMask(start, end)) == 0;
+    }
+
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if (!(event.getEntity() instanceof Appointment appointment)) {
+            return;
+        }
+        evict(appointment.getProfessional(), appointment.getAppointmentDate());
+        if (event.hasPreviousState()) {
+            Object previousProfessional = event.getPreviousValue("professional");
+            Object previousDate = event.getPreviousValue("appointmentDate");
+            evict(previousProfessional instanceof User user ? user : appointment.getProfessional(),
+                    previousDate instanceof LocalDate date ? date : appointment.getAppointmentDate());
+        }
+    }
+
+    /**
+     * Drops every cached day, e.g. after a bulk import that bypassed JPA.
+     */
+    public void invalidateAll() {
+        versions.values().forEach(AtomicLong::incrementAndGet);
+        masks.clear();
+        logger.debug("Slot availability masks invalidated");
+    }
+
+    /**
+     * Drops the cached days of one professional, e.g. after their working
+     * hours changed and every mask has to be recomputed against the new table.
+     */
+    public void evictProfessional(Long professionalId) {
+        versions.computeIfAbsent(professionalId, id -> new AtomicLong()).incrementAndGet();
+        masks.keySet().removeIf(key -> key.professionalId().equals(professionalId));
+    }
+
+    private void evict(User professional, LocalDate date) {
+        if (professional == null || professional.getId() == null || date == null) {
+            return;
+        }
+        versions.computeIfAbsent(professional.getId(), id -> new AtomicLong()).incrementAndGet();
+        masks.remove(new DayKey(professional.getId(), date));
+    }
+
+    private void prune() {
+        // Past days are rarely asked for again; drop everything if that is not enough
+        LocalDate today = LocalDate.now();
+        masks.keySet().removeIf(key -> key.date().isBefore(today));
+        if (masks.size() >= maxEntries) {
+            masks.clear();
+        }
+        logger.debug("Slot availability masks pruned to {} entries", masks.size());
+    }
+
+    private record DayKey(Long professionalId, LocalDate date) {
+    }
+}
@@ -0,0 +1,252 @@
+package com.mentalhealthhub.service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mentalhealthhub.model.Appointment;
+import com.mentalhealthhub.model.AppointmentStatus;
+import com.mentalhealthhub.model.SlotReservation;
+import com.mentalhealthhub.repository.AppointmentRepository;
+import com.mentalhealthhub.repository.SlotReservationRepository;
+import com.mentalhealthhub.util.SlotTable;
+
+/**
+ * Keeps one slot_reservations row per booked slot of a professional's day,
+ * numbered by the slot table of their working hours for that day. Rows are written in the same transaction as the
+ * appointment that holds them, and the unique key on (professional, date,
+ * slot) makes the database reject a double booking.
+ *
+ * Bookings for the same professional and day are serialised on a striped
+ * in-process lock first, so concurrent requests on one node queue up instead
+ * of racing to the constraint and rolling back. They also share a striped
+ * per-professional lock, which a change of working hours takes exclusively
+ * while it renumbers the professional's rows. Deleting an appointment
+ * removes its rows through the foreign key.
+ */
+@Service
+public class SlotReservationLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotReservationLedger.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final String INSERT_SQL = "INSERT INTO slot_reservations "
+            + "(appointment_id, professional_id, slot_date, slot_index) VALUES (?, ?, ?, ?)";
+
+    private final SlotReservationRepository slotReservationRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final WorkingCalendars workingCalendars;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantReadWriteLock[] professionalStripes = new ReentrantReadWriteLock[LOCK_STRIPES];
+
+    public SlotReservationLedger(SlotReservationRepository slotReservationRepository,
+            AppointmentRepository appointmentRepository,
+            WorkingCalendars workingCalendars,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.slotReservationRepository = slotReservationRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.workingCalendars = workingCalendars;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+            professionalStripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Runs {@code work} in a transaction while holding the lock stripe of a
+     * professional's day. The lock is released only after the commit.
+     */
+    public <T> T inLockedTransaction(Long professionalId, LocalDate date, Supplier<T> work) {
+        Lock professionalLock = professionalStripe(professionalId).readLock();
+        ReentrantLock dayLock = stripes[Math.floorMod(Objects.hash(professionalId, date), LOCK_STRIPES)];
+        professionalLock.lock();
+        try {
+            dayLock.lock();
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } finally {
+                dayLock.unlock();
+            }
+        } finally {
+            professionalLock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code work} in a transaction while no booking of the professional
+     * can run on this node, then {@code afterCommit} before any can. Nothing
+     * runs after a rollback.
+     */
+    public void inProfessionalLockedTransaction(Long professionalId, Runnable work, Runnable afterCommit) {
+        Lock lock = professionalStripe(professionalId).writeLock();
+        lock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(status -> work.run());
+            afterCommit.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantReadWriteLock professionalStripe(Long professionalId) {
+        return professionalStripes[Math.floorMod(Objects.hashCode(professionalId), LOCK_STRIPES)];
+    }
+
+    /**
+     * Brings the reservations of a saved appointment in line with its current
+     * professional, date, time and status. Must run inside the transaction
+     * that saved the appointment.
+     *
+     * @throws IllegalArgumentException if another appointment holds one of the slots
+     */
+    public void sync(Appointment appointment) {
+        Set<Integer> wanted = new HashSet<>();
+        Long professionalId = appointment.getProfessional() != null ? appointment.getProfessional().getId() : null;
+        if (professionalId != null && holdsSlots(appointment.getStatus())) {
+            int mask = workingCalendars.tableFor(professionalId, appointment.getAppointmentDate())
+                    .overlapMask(appointment.getTimeSlotStart(), appointment.getTimeSlotEnd());
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                wanted.add(Integer.numberOfTrailingZeros(bits));
+            }
+        }
+
+        List<SlotReservation> released = new ArrayList<>();
+        for (SlotReservation reservation : slotReservationRepository.findByAppointmentId(appointment.getId())) {
+            boolean kept = reservation.getProfessionalId().equals(professionalId)
+                    && reservation.getSlotDate().equals(appointment.getAppointmentDate())
+                    && wanted.remove(reservation.getSlotIndex());
+            if (!kept) {
+                released.add(reservation);
+            }
+        }
+        if (!released.isEmpty()) {
+            slotReservationRepository.deleteAllInBatch(released);
+        }
+        if (wanted.isEmpty()) {
+            return;
+        }
+
+        List<SlotReservation> reserved = new ArrayList<>();
+        for (Integer slotIndex : wanted) {
+            reserved.add(new SlotReservation(appointment, professionalId, appointment.getAppointmentDate(), slotIndex));
+        }
+        try {
+            slotReservationRepository.saveAllAndFlush(reserved);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Slot conflict for professional {} on {}", professionalId, appointment.getAppointmentDate());
+            throw new IllegalArgumentException("Selected time slot is not available");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (slotReservationRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling slot reservations", e);
+        }
+    }
+
+    /**
+     * Recreates the ledger from the appointments table, e.g. on first start
+     * or after a bulk import that bypassed JPA. Where existing appointments
+     * already overlap, the oldest one keeps the slot.
+     */
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        int[] counts = transactionTemplate.execute(status -> {
+            slotReservationRepository.deleteAllReservations();
+            return insertReservations(appointmentRepository.findSlotHoldingIntervals(), workingCalendars::tableFor);
+        });
+        if (counts[1] > 0) {
+            logger.warn("{} slots were booked by more than one appointment; kept the oldest booking", counts[1]);
+        }
+        logger.info("Slot reservation ledger rebuilt with {} slots in {} ms", counts[0],
+                System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Renumbers the reservations of one professional for new working hours,
+     * so slot indexes follow the new slot tables. Must run inside
+     * {@link #inProfessionalLockedTransaction}, before the calendars are
+     * reloaded.
+     *
+     * @param tables the professional's slot table of a date under the new hours
+     * @throws IllegalArgumentException if another node booked one of the slots meanwhile
+     */
+    public void renumberProfessional(Long professionalId, Function<LocalDate, SlotTable> tables) {
+        slotReservationRepository.deleteByProfessionalId(professionalId);
+        int[] counts;
+        try {
+            counts = insertReservations(appointmentRepository.findSlotHoldingIntervalsByProfessional(professionalId),
+                    (id, date) -> tables.apply(date));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Slot conflict renumbering the reservations of professional {}", professionalId);
+            throw new IllegalArgumentException("Appointments changed while the working hours were being updated; "
+                    + "please try again");
+        }
+        if (counts[1] > 0) {
+            logger.warn("{} slots of professional {} are booked by more than one appointment under the new "
+                    + "working hours; kept the oldest booking", counts[1], professionalId);
+        }
+        logger.debug("Slot reservations of professional {} renumbered with {} slots", professionalId, counts[0]);
+    }
+
+    // Inserts rows for (id, professional id, date, start, end) intervals; returns {rows, overlaps}
+    private int[] insertReservations(List<Object[]> intervals, BiFunction<Long, LocalDate, SlotTable> tables) {
+        Set<SlotKey> taken = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>();
+        int overlaps = 0;
+        for (Object[] interval : intervals) {
+            Long professionalId = ((Number) interval[1]).longValue();
+            LocalDate date = (LocalDate) interval[2];
+            int mask = tables.apply(professionalId, date)
+                    .overlapMask((LocalTime) interval[3], (LocalTime) interval[4]);
+            for (int bits = mask; bits != 0; bits &= bits - 1) {
+                int slotIndex = Integer.numberOfTrailingZeros(bits);
+                if (taken.add(new SlotKey(professionalId, date, slotIndex))) {
+                    rows.add(new Object[] { interval[0], professionalId, Date.valueOf(date), slotIndex });
+                } else {
+                    overlaps++;
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return new int[] { rows.size(), overlaps };
+    }
+
+    private static boolean holdsSlots(AppointmentStatus status) {
+        return status == AppointmentStatus.PENDING || status == AppointmentStatus.APPROVED;
+    }
+
+    private record SlotKey(Long professionalId, LocalDate date, int slotIndex) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.mentalhealthhub.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.mentalhealthhub.model.Appointment;
+import com.mentalhealthhub.model.AppointmentStatus;
+import com.mentalhealthhub.repository.AppointmentRepository;
+import com.mentalhealthhub.util.SlotTable;
+import com.mentalhealthhub.util.TimeSlotUtil;
+
+/**
+ * Works out which slots of a day a student can book with a professional, out
+ * of the slot table of the professional's working hours for that day. Every
+ * constraint is fetched with one query and folded into a single occupancy
+ * mask: the professional's and the student's pending or approved
+ * appointments, the student's open counter-proposals and, for today, slots
+ * that have already started.
+ */
+@Component
+public class SlotResolver {
+
+    private final AppointmentRepository appointmentRepository;
+    private final WorkingCalendars workingCalendars;
+
+    public SlotResolver(AppointmentRepository appointmentRepository, WorkingCalendars workingCalendars) {
+        this.appointmentRepository = appointmentRepository;
+        this.workingCalendars = workingCalendars;
+    }
+
+    /**
+     * Free slots for a new booking.
+     */
+    public List<TimeSlotUtil.TimeSlot> resolveFreeSlots(LocalDate date, Long professionalId, Long studentId) {
+        return resolveFreeSlots(date, professionalId, studentId, null);
+    }
+
+    /**
+     * Free slots when the student proposes another time for {@code rescheduled}.
+     * The appointment itself blocks nothing, neither its current window nor its
+     * own counter-proposal, so a new time may overlap the old one. The time
+     * already suggested on it does block, as do the other bookings of either
+     * party.
+     */
+    public List<TimeSlotUtil.TimeSlot> resolveFreeSlots(LocalDate date, Long professionalId, Long studentId,
+            Appointment rescheduled) {
+        SlotTable table = workingCalendars.tableFor(professionalId, date);
+        if (table.isEmpty()) {
+            return table.slots();
+        }
+        int busy = 0;
+        for (Object[] row : appointmentRepository.findSlotConstraints(date, professionalId, studentId)) {
+            if (rescheduled != null && rescheduled.getId().equals(row[0])) {
+                // Moving an appointment never conflicts with where it is now
+                continue;
+            }
+            if (row[1] == AppointmentStatus.STUDENT_PROPOSED) {
+                busy |= table.overlapMask((LocalTime) row[5], (LocalTime) row[6]);
+            } else {
+                busy |= table.overlapMask((LocalTime) row[2], (LocalTime) row[3]);
+            }
+        }
+
+        if (rescheduled != null && (rescheduled.getSuggestedAppointmentDate() == null
+                || rescheduled.getSuggestedAppointmentDate().equals(date))) {
+            busy |= table.overlapMask(rescheduled.getSuggestedTimeSlotStart(),
+                    rescheduled.getSuggestedTimeSlotEnd());
+        }
+
+        if (date.equals(LocalDate.now())) {
+            busy |= table.startedMask(LocalTime.now());
+        }
+        return table.slotsOf(~busy);
+    }
+}
@@ -0,0 +1,111 @@
+package com.mentalhealthhub.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.mentalhealthhub.repository.UserRepository;
+
+/**
+ * Resolves user ids to display names in bulk for analytics DTO assembly.
+ * Misses are loaded with IN-batched (id, name) projection queries, so
+ * resolving N ids costs at most ceil(N / batch size) selects instead of N.
+ * Recently resolved names are kept in a small LRU cache.
+ */
+@Service
+public class UserNameResolver {
+
+    public static final String UNKNOWN_NAME = "Unknown";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final Map<Long, String> cache;
+
+    public UserNameResolver(UserRepository userRepository,
+            @Value("${analytics.user-names.cache-size:2048}") int cacheSize) {
+        this.userRepository = userRepository;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns a map containing a name for every requested id. Ids that do not
+     * exist map to {@link #UNKNOWN_NAME}.
+     */
+    public Map<Long, String> resolveNames(Collection<Long> ids) {
+        Map<Long, String> result = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> missing = new LinkedHashSet<>();
+        synchronized (cache) {
+            for (Long id : ids) {
+                if (id == null) {
+                    continue;
+                }
+                String cached = cache.get(id);
+                if (cached != null) {
+                    result.put(id, cached);
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            List<Long> pending = new ArrayList<>(missing);
+            Map<Long, String> loaded = new HashMap<>();
+            for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+                List<Long> batch = pending.subList(from, Math.min(from + BATCH_SIZE, pending.size()));
+                for (Object[] row : userRepository.findNamesByIdIn(batch)) {
+                    loaded.put(((Number) row[0]).longValue(), (String) row[1]);
+                }
+            }
+            synchronized (cache) {
+                cache.putAll(loaded);
+            }
+            for (Long id : missing) {
+                result.put(id, loaded.getOrDefault(id, UNKNOWN_NAME));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves a single id; prefer {@link #resolveNames(Collection)} when
+     * assembling lists.
+     */
+    public String resolveName(Long id) {
+        if (id == null) {
+            return UNKNOWN_NAME;
+        }
+        return resolveNames(List.of(id)).getOrDefault(id, UNKNOWN_NAME);
+    }
+
+    /**
+     * Drops a cached name, e.g. after the user has been renamed.
+     */
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (cache) {
+            cache.remove(id);
+        }
+    }
+}
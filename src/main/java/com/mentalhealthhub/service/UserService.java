@@ -13,10 +13,13 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserNameResolver userNameResolver;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            UserNameResolver userNameResolver) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userNameResolver = userNameResolver;
     }
 
     /**
@@ -135,7 +138,9 @@ public class UserService {
         user.setName(name.trim());
         user.setEmail(email.trim().toLowerCase());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userNameResolver.evict(saved.getId());
+        return saved;
     }
 
     /**
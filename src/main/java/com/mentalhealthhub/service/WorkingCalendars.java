@@ -0,0 +1,87 @@
+package com.mentalhealthhub.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.mentalhealthhub.model.WorkingHours;
+import com.mentalhealthhub.repository.WorkingHoursRepository;
+import com.mentalhealthhub.util.SlotTable;
+import com.mentalhealthhub.util.TimeSlotUtil;
+
+/**
+ * Resolves the slot table of a professional's day from their working hours.
+ * All templates are read with one query and compiled into interned
+ * {@link SlotTable}s, so a lookup is a map get and an array index. Weekdays
+ * without a template use {@link TimeSlotUtil#DEFAULT_TABLE}.
+ */
+@Component
+public class WorkingCalendars {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkingCalendars.class);
+
+    private final WorkingHoursRepository workingHoursRepository;
+    // Professional id to tables indexed by DayOfWeek.ordinal(); null until first use
+    private volatile Map<Long, SlotTable[]> weeks;
+
+    public WorkingCalendars(WorkingHoursRepository workingHoursRepository) {
+        this.workingHoursRepository = workingHoursRepository;
+    }
+
+    public SlotTable tableFor(Long professionalId, LocalDate date) {
+        SlotTable[] week = weeks().get(professionalId);
+        return week != null ? week[date.getDayOfWeek().ordinal()] : TimeSlotUtil.DEFAULT_TABLE;
+    }
+
+    /**
+     * True when the professional has their own working hours.
+     */
+    public boolean hasCustomHours(Long professionalId) {
+        return weeks().containsKey(professionalId);
+    }
+
+    /**
+     * Drops the compiled calendars so the next lookup reads the templates again.
+     */
+    public synchronized void reload() {
+        weeks = null;
+    }
+
+    private Map<Long, SlotTable[]> weeks() {
+        Map<Long, SlotTable[]> current = weeks;
+        if (current == null) {
+            synchronized (this) {
+                current = weeks;
+                if (current == null) {
+                    current = load();
+                    weeks = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Map<Long, SlotTable[]> load() {
+        Map<Long, SlotTable[]> loaded = new HashMap<>();
+        for (WorkingHours hours : workingHoursRepository.findAll()) {
+            SlotTable[] week = loaded.computeIfAbsent(hours.getProfessionalId(), id -> {
+                SlotTable[] days = new SlotTable[7];
+                Arrays.fill(days, TimeSlotUtil.DEFAULT_TABLE);
+                return days;
+            });
+            try {
+                week[hours.getDayOfWeek().ordinal()] = SlotTable.of(hours.getSlotMinutes(), hours.getPeriods());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring invalid working hours {} of professional {}: {}", hours.getDayOfWeek(),
+                        hours.getProfessionalId(), e.getMessage());
+            }
+        }
+        logger.debug("Loaded working calendars of {} professionals", loaded.size());
+        return loaded;
+    }
+}
@@ -0,0 +1,263 @@
+package com.mentalhealthhub.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashed timing wheel for large numbers of coarse-grained timeouts. Tasks
+ * are hashed into one of {@code wheelSize} buckets by their deadline tick;
+ * a single worker thread advances one bucket per tick and expires the tasks
+ * whose remaining rounds have run out.
+ *
+ * Scheduling and cancelling are O(1) and lock-free for callers: new and
+ * cancelled timeouts are queued and applied by the worker at the next tick.
+ * Deadlines are accurate to one tick, and expired tasks are handed to the
+ * consumer on the worker thread, so it must not block.
+ */
+public class HashedWheelTimer<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    // Upper bound on queued timeouts moved into the wheel per tick, so a burst cannot stall expiry
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket<T>[] wheel;
+    private final int mask;
+    private final Consumer<T> consumer;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean running = true;
+    // Only touched by the worker thread
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize, Consumer<T> consumer) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = wheel.length - 1;
+        this.consumer = consumer;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules {@code task} to expire after {@code delay}. A delay of zero or
+     * less expires at the next tick.
+     */
+    public Timeout<T> schedule(T task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer has been stopped");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        Timeout<T> timeout = new Timeout<>(this, task, deadline);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Timeouts that are scheduled and have neither expired nor been cancelled.
+     */
+    public int pendingCount() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = awaitNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            removeCancelled();
+            transferScheduled();
+            wheel[(int) (tick & mask)].expire(deadline, this);
+            tick++;
+        }
+    }
+
+    // Sleeps until the end of the current tick; returns its deadline, or -1 when stopped
+    private long awaitNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startNanos;
+            long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - now + 999_999);
+            if (sleepMillis <= 0) {
+                return now;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void transferScheduled() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout<T> timeout = scheduled.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.ACTIVE) {
+                continue;
+            }
+            long deadlineTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+            // Deadlines already passed go into the current bucket
+            long targetTick = Math.max(deadlineTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void deliver(Timeout<T> timeout) {
+        if (!timeout.state.compareAndSet(Timeout.ACTIVE, Timeout.EXPIRED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        try {
+            consumer.accept(timeout.task);
+        } catch (RuntimeException e) {
+            logger.warn("Timer task {} failed", timeout.task, e);
+        }
+    }
+
+    /**
+     * Handle of a scheduled task.
+     */
+    public static final class Timeout<T> {
+
+        private static final int ACTIVE = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer<T> timer;
+        private final T task;
+        // Nanoseconds since the timer started
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+        // Bucket links, only touched by the worker thread
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> next;
+        private Timeout<T> prev;
+
+        private Timeout(HashedWheelTimer<T> timer, T task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public T task() {
+            return task;
+        }
+
+        /**
+         * Cancels the timeout; false if it already expired or was cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(ACTIVE, CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+    }
+
+    // Doubly linked list of the timeouts hashed to one slot of the wheel
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline, HashedWheelTimer<T> timer) {
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.state.get() != Timeout.ACTIVE) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= deadline) {
+                    remove(timeout);
+                    timer.deliver(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.mentalhealthhub.util;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled, immutable slot layout of one working day: the bookable slots of
+ * a set of working periods cut into fixed-length slots. Tables are interned,
+ * so every professional and weekday with the same template shares one
+ * instance, and all lookups work on precomputed second-of-day arrays without
+ * allocating.
+ *
+ * Slot i is bit i of an int mask, which limits a day to 32 slots.
+ */
+public final class SlotTable {
+
+    public static final int MAX_SLOTS = Integer.SIZE;
+
+    private static final Map<String, SlotTable> INTERNED = new ConcurrentHashMap<>();
+
+    private final String periods;
+    private final int slotMinutes;
+    private final int[] starts;
+    private final int[] ends;
+    private final List<TimeSlotUtil.TimeSlot> slots;
+    private final int allMask;
+    // Bit i is set when slot i + 1 does not start where slot i ends
+    private final int breakMask;
+
+    private SlotTable(String periods, int slotMinutes, List<TimeSlotUtil.TimeSlot> slots) {
+        this.periods = periods;
+        this.slotMinutes = slotMinutes;
+        this.slots = Collections.unmodifiableList(slots);
+        this.starts = new int[slots.size()];
+        this.ends = new int[slots.size()];
+        int breaks = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            starts[i] = slots.get(i).getStartTime().toSecondOfDay();
+            ends[i] = slots.get(i).getEndTime().toSecondOfDay();
+            if (i > 0 && starts[i] != ends[i - 1]) {
+                breaks |= 1 << (i - 1);
+            }
+        }
+        this.allMask = slots.isEmpty() ? 0 : -1 >>> (MAX_SLOTS - slots.size());
+        this.breakMask = breaks;
+    }
+
+    /**
+     * The table for working periods such as {@code "08:00-13:00,14:00-17:00"}
+     * cut into {@code slotMinutes} slots. A blank string is a day off; a
+     * trailing part of a period shorter than a slot is not bookable.
+     *
+     * @throws IllegalArgumentException if the periods are malformed, overlap,
+     *         are out of order or yield more than 32 slots
+     */
+    public static SlotTable of(int slotMinutes, String periods) {
+        if (slotMinutes < 5 || slotMinutes > 240) {
+            throw new IllegalArgumentException("Slot length must be between 5 and 240 minutes");
+        }
+        String normalized = periods == null ? "" : periods.replace(" ", "");
+        SlotTable table = INTERNED.get(slotMinutes + "|" + normalized);
+        return table != null ? table : compile(slotMinutes, normalized);
+    }
+
+    private static SlotTable compile(int slotMinutes, String periods) {
+        List<TimeSlotUtil.TimeSlot> slots = new ArrayList<>();
+        int previousEnd = -1;
+        for (String period : periods.isEmpty() ? new String[0] : periods.split(",")) {
+            String[] bounds = period.split("-");
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException("Invalid working period: " + period);
+            }
+            LocalTime start;
+            LocalTime end;
+            try {
+                start = LocalTime.parse(bounds[0]);
+                end = LocalTime.parse(bounds[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid working period: " + period);
+            }
+            if (!start.isBefore(end) || start.toSecondOfDay() < previousEnd) {
+                throw new IllegalArgumentException("Working periods must be ordered and must not overlap: " + periods);
+            }
+            previousEnd = end.toSecondOfDay();
+            int slotSeconds = slotMinutes * 60;
+            for (int second = start.toSecondOfDay(); second + slotSeconds <= previousEnd; second += slotSeconds) {
+                slots.add(new TimeSlotUtil.TimeSlot(LocalTime.ofSecondOfDay(second),
+                        LocalTime.ofSecondOfDay(second + slotSeconds)));
+            }
+        }
+        if (slots.size() > MAX_SLOTS) {
+            throw new IllegalArgumentException("A working day cannot have more than " + MAX_SLOTS + " slots");
+        }
+        return INTERNED.computeIfAbsent(slotMinutes + "|" + periods, key -> new SlotTable(periods, slotMinutes, slots));
+    }
+
+    public String getPeriods() {
+        return periods;
+    }
+
+    public int getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    /**
+     * Mask with a bit for every slot of the day.
+     */
+    public int allMask() {
+        return allMask;
+    }
+
+    /**
+     * All slots in day order, as shared immutable instances.
+     */
+    public List<TimeSlotUtil.TimeSlot> slots() {
+        return slots;
+    }
+
+    public TimeSlotUtil.TimeSlot slot(int index) {
+        return slots.get(index);
+    }
+
+    /**
+     * Mask of the slots that overlap [start, end).
+     */
+    public int overlapMask(LocalTime start, LocalTime end) {
+        if (start == null || end == null || starts.length == 0) {
+            return 0;
+        }
+        int from = start.toSecondOfDay();
+        int to = end.toSecondOfDay();
+        // First slot ending after the start, last slot starting before the end
+        int first = insertionPoint(ends, from + 1);
+        int last = insertionPoint(starts, to) - 1;
+        return first > last ? 0 : rangeMask(first, last);
+    }
+
+    /**
+     * Mask of the slots that have started at {@code time}, i.e. whose start is
+     * not after it.
+     */
+    public int startedMask(LocalTime time) {
+        int count = insertionPoint(starts, time.toSecondOfDay() + 1);
+        return count == 0 ? 0 : rangeMask(0, count - 1);
+    }
+
+    /**
+     * Index of the slot that is exactly [start, end), or -1.
+     */
+    public int indexOf(LocalTime start, LocalTime end) {
+        int index = Arrays.binarySearch(starts, start.toSecondOfDay());
+        return index >= 0 && ends[index] == end.toSecondOfDay() ? index : -1;
+    }
+
+    /**
+     * True when the mask is one run of slots with no gap between them, such
+     * as a lunch break.
+     */
+    public boolean isConsecutive(int mask) {
+        if (mask == 0 || (mask & ~allMask) != 0) {
+            return false;
+        }
+        int shifted = mask >>> Integer.numberOfTrailingZeros(mask);
+        return (shifted & (shifted + 1)) == 0 && (mask & (mask >>> 1) & breakMask) == 0;
+    }
+
+    /**
+     * Mask of the consecutive slots that exactly cover [start, end), or 0 when
+     * the interval does not start and end on slot boundaries or spans a break.
+     */
+    public int runMask(LocalTime start, LocalTime end) {
+        int mask = overlapMask(start, end);
+        if (!isConsecutive(mask)) {
+            return 0;
+        }
+        int first = Integer.numberOfTrailingZeros(mask);
+        int last = MAX_SLOTS - 1 - Integer.numberOfLeadingZeros(mask);
+        return starts[first] == start.toSecondOfDay() && ends[last] == end.toSecondOfDay() ? mask : 0;
+    }
+
+    /**
+     * Masks of every run of consecutive slots lasting {@code minutes}, in day
+     * order.
+     */
+    public int[] runMasks(int minutes) {
+        if (minutes <= 0 || minutes % slotMinutes != 0) {
+            return new int[0];
+        }
+        int count = minutes / slotMinutes;
+        int[] runs = new int[Math.max(0, size() - count + 1)];
+        int found = 0;
+        for (int first = 0; first + count <= size(); first++) {
+            int run = rangeMask(first, first + count - 1);
+            if (isConsecutive(run)) {
+                runs[found++] = run;
+            }
+        }
+        return found == runs.length ? runs : Arrays.copyOf(runs, found);
+    }
+
+    /**
+     * The slots whose bits are set in a mask, in day order.
+     */
+    public List<TimeSlotUtil.TimeSlot> slotsOf(int mask) {
+        List<TimeSlotUtil.TimeSlot> result = new ArrayList<>(Integer.bitCount(mask & allMask));
+        for (int bits = mask & allMask; bits != 0; bits &= bits - 1) {
+            result.add(slots.get(Integer.numberOfTrailingZeros(bits)));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return slotMinutes + "min " + (periods.isEmpty() ? "day off" : periods);
+    }
+
+    private static int rangeMask(int first, int last) {
+        return (-1 >>> (MAX_SLOTS - 1 - last)) & (-1 << first);
+    }
+
+    // Number of entries in a sorted array that are lower than the key
+    private static int insertionPoint(int[] sorted, int key) {
+        int index = Arrays.binarySearch(sorted, key);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sorted[index - 1] == key) {
+            index--;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,326 @@
+package com.mentalhealthhub.util;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.mentalhealthhub.model.AppointmentStatus;
+import com.mentalhealthhub.model.SelfCareType;
+import com.mentalhealthhub.model.UserRole;
+
+/**
+ * Writes a synthetic population straight to the database with JDBC batch
+ * inserts, bypassing JPA. Each table is split into fixed-size chunks written
+ * in parallel; every chunk draws from its own seeded Random, so the same
+ * seed and volumes produce the same rows regardless of the thread count.
+ *
+ * Generated users have emails ending in {@link #EMAIL_DOMAIN} and the
+ * password "password".
+ */
+public class SyntheticDataWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataWriter.class);
+
+    public static final String EMAIL_DOMAIN = "@synthetic.local";
+
+    private static final int CHUNK_SIZE = 10_000;
+    private static final String[] MOODS = { "great", "good", "okay", "low", "struggling" };
+    private static final String[] FORUM_CATEGORIES = { "Academic Stress", "Anxiety", "Depression", "Self-Care",
+            "Motivation", "General" };
+    private static final AppointmentStatus[] APPOINTMENT_STATUSES = { AppointmentStatus.PENDING,
+            AppointmentStatus.APPROVED, AppointmentStatus.APPROVED, AppointmentStatus.REJECTED,
+            AppointmentStatus.COMPLETED, AppointmentStatus.CANCELLED };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int threads;
+    private final int batchSize;
+    private final long seed;
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Map<String, Object> tableLocks = new ConcurrentHashMap<>();
+    private String passwordHash;
+    private boolean serialPerTable;
+
+    public SyntheticDataWriter(JdbcTemplate jdbcTemplate, int threads, int batchSize, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.seed = seed;
+    }
+
+    /**
+     * True if a previous run already wrote synthetic users.
+     */
+    public boolean hasSyntheticData() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class, "%" + EMAIL_DOMAIN);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Writes all tables. Users come first because every other table refers to them.
+     */
+    public void write(Volumes volumes) {
+        long started = System.currentTimeMillis();
+        // One hash for every user; BCrypt is far too slow to run per row
+        passwordHash = new BCryptPasswordEncoder().encode("password");
+        // H2 can hand out the same identity value to concurrent batch inserts into
+        // one table, so there only different tables are written in parallel
+        serialPerTable = "H2".equalsIgnoreCase(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> users = new ArrayList<>();
+            submitUsers(pool, users, UserRole.STUDENT, volumes.students());
+            submitUsers(pool, users, UserRole.PROFESSIONAL, volumes.professionals());
+            submitUsers(pool, users, UserRole.STAFF, volumes.staff());
+            submitUsers(pool, users, UserRole.ADMIN, volumes.admins());
+            awaitAll(users);
+
+            List<Long> students = idsOf(UserRole.STUDENT);
+            List<Long> professionals = idsOf(UserRole.PROFESSIONAL);
+            List<Long> modules = jdbcTemplate.queryForList("SELECT id FROM educational_modules", Long.class);
+            if (students.isEmpty()) {
+                return;
+            }
+
+            List<Future<?>> activity = new ArrayList<>();
+            submitChunks(pool, activity, "self_care", volumes.selfCare(),
+                    (random, from, to) -> writeSelfCare(random, students, from, to));
+            submitChunks(pool, activity, "assessments", students.size(),
+                    (random, from, to) -> writeAssessments(random, students.subList(from, to),
+                            volumes.assessmentsPerStudent()));
+            submitChunks(pool, activity, "module_progress", students.size(),
+                    (random, from, to) -> writeModuleProgress(random, students.subList(from, to), modules));
+            if (!professionals.isEmpty()) {
+                submitChunks(pool, activity, "appointments", volumes.appointments(),
+                        (random, from, to) -> writeAppointments(random, students, professionals, from, to));
+            }
+            submitChunks(pool, activity, "forum_posts", volumes.forumPosts(),
+                    (random, from, to) -> writeForumPosts(random, students, from, to));
+            awaitAll(activity);
+
+            List<Long> posts = jdbcTemplate.queryForList("SELECT id FROM forum_posts", Long.class);
+            if (!posts.isEmpty()) {
+                List<Future<?>> comments = new ArrayList<>();
+                submitChunks(pool, comments, "forum_comments", volumes.forumComments(),
+                        (random, from, to) -> writeForumComments(random, students, posts, from, to));
+                awaitAll(comments);
+                // Keep the denormalised reply counters consistent with the comments
+                jdbcTemplate.update("UPDATE forum_posts p SET replies = "
+                        + "(SELECT COUNT(*) FROM forum_comments c WHERE c.post_id = p.id)");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        logger.info("Synthetic data written in {} s: {}", (System.currentTimeMillis() - started) / 1000, volumes);
+    }
+
+    // ==================== Table writers ====================
+
+    private void writeUsers(Random random, UserRole role, int from, int to) {
+        String prefix = role.name().toLowerCase();
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+            boolean student = role == UserRole.STUDENT;
+            rows.add(new Object[] { prefix + i + EMAIL_DOMAIN, passwordHash, "Synthetic " + prefix + " " + i,
+                    role.name(), random.nextInt(20) != 0, createdAt, createdAt,
+                    student ? random.nextInt(101) : null, student ? random.nextInt(101) : null,
+                    student ? random.nextInt(101) : null });
+        }
+        batch("INSERT INTO users (email, password, name, role, active, created_at, updated_at, "
+                + "stress_level, anxiety_level, wellbeing_score) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void writeSelfCare(Random random, List<Long> students, int from, int to) {
+        SelfCareType[] types = SelfCareType.values();
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            SelfCareType type = types[random.nextInt(types.length)];
+            LocalDate day = now.toLocalDate().minusDays(random.nextInt(365));
+            Timestamp createdAt = Timestamp.valueOf(day.atTime(random.nextInt(24), random.nextInt(60)));
+            String mood = type == SelfCareType.MOOD ? MOODS[random.nextInt(MOODS.length)] : null;
+            Integer duration = type == SelfCareType.MOOD ? null : 5 + random.nextInt(40);
+            rows.add(new Object[] { pick(random, students), type.name(), Date.valueOf(day), mood, duration,
+                    createdAt, createdAt });
+        }
+        batch("INSERT INTO self_care (user_id, type, activity_date, mood, duration_minutes, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // Scores and categories follow AssessmentService.saveAssessment
+    private void writeAssessments(Random random, List<Long> students, int perStudent) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long studentId : students) {
+            int count = perStudent > 0 ? random.nextInt(2 * perStudent + 1) : 0;
+            for (int a = 0; a < count; a++) {
+                int[] answers = new int[8];
+                int symptoms = 0;
+                StringBuilder joined = new StringBuilder();
+                for (int q = 0; q < answers.length; q++) {
+                    answers[q] = random.nextInt(5);
+                    symptoms += answers[q];
+                    joined.append(q > 0 ? "," : "").append(answers[q]);
+                }
+                int score = 32 - symptoms;
+                String category = score >= 24 ? "LOW" : score >= 16 ? "MILD" : score >= 8 ? "MODERATE" : "SEVERE";
+                Timestamp completedAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+                rows.add(new Object[] { studentId, "Mental Health Self-Assessment", completedAt, joined.toString(),
+                        score, category, answers[0], answers[1], answers[2], answers[3], answers[4], answers[5],
+                        answers[6], answers[7], score, completedAt, completedAt });
+            }
+        }
+        batch("INSERT INTO assessments (user_id, title, completed_at, answers, total_score, category, "
+                + "q1score, q2score, q3score, q4score, q5score, q6score, q7score, q8score, score, created_at, "
+                + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void writeModuleProgress(Random random, List<Long> students, List<Long> modules) {
+        if (modules.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (Long studentId : students) {
+            int count = random.nextInt(Math.min(4, modules.size()) + 1);
+            for (int m = 0; m < count; m++) {
+                int progress = random.nextInt(5) == 0 ? 100 : random.nextInt(100);
+                Timestamp startedAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(180 * 24 * 60)));
+                Timestamp completedAt = progress == 100 ? startedAt : null;
+                rows.add(new Object[] { studentId, modules.get(m), progress == 100, progress, startedAt,
+                        completedAt, startedAt, startedAt });
+            }
+        }
+        batch("INSERT INTO module_progress (user_id, module_id, completed, progress_percentage, started_at, "
+                + "completed_at, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    // Spread over the past 120 and next 60 days, on the regular 30 minute slots
+    private void writeAppointments(Random random, List<Long> students, List<Long> professionals, int from, int to) {
+        List<TimeSlotUtil.TimeSlot> slots = TimeSlotUtil.generateAllTimeSlots();
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            TimeSlotUtil.TimeSlot slot = slots.get(random.nextInt(slots.size()));
+            LocalDate day = now.toLocalDate().plusDays(random.nextInt(180) - 120L);
+            AppointmentStatus status = APPOINTMENT_STATUSES[random.nextInt(APPOINTMENT_STATUSES.length)];
+            Timestamp createdAt = Timestamp.valueOf(day.atStartOfDay().minusDays(1 + random.nextInt(14)));
+            rows.add(new Object[] { pick(random, students), pick(random, professionals), Date.valueOf(day),
+                    Time.valueOf(slot.getStartTime()), Time.valueOf(slot.getEndTime()), status.name(), createdAt,
+                    createdAt });
+        }
+        batch("INSERT INTO appointments (student_id, professional_id, appointment_date, time_slot_start, "
+                + "time_slot_end, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void writeForumPosts(Random random, List<Long> students, int from, int to) {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            rows.add(new Object[] { pick(random, students), "Synthetic thread " + i,
+                    "Synthetic forum thread " + i + " for load testing.",
+                    FORUM_CATEGORIES[random.nextInt(FORUM_CATEGORIES.length)], createdAt, createdAt,
+                    random.nextInt(1000), 0 });
+        }
+        batch("INSERT INTO forum_posts (user_id, title, content, category, created_at, updated_at, views, replies) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void writeForumComments(Random random, List<Long> students, List<Long> posts, int from, int to) {
+        List<Object[]> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            rows.add(new Object[] { pick(random, posts), pick(random, students), "Synthetic reply " + i, createdAt,
+                    createdAt });
+        }
+        batch("INSERT INTO forum_comments (post_id, user_id, content, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    // ==================== Helpers ====================
+
+    private void submitUsers(ExecutorService pool, List<Future<?>> futures, UserRole role, int count) {
+        submitChunks(pool, futures, "users", role.ordinal(), count,
+                (random, from, to) -> writeUsers(random, role, from, to));
+    }
+
+    private void submitChunks(ExecutorService pool, List<Future<?>> futures, String table, int total,
+            ChunkWriter writer) {
+        submitChunks(pool, futures, table, 0, total, writer);
+    }
+
+    // Chunk seeds depend on table, stream and offset only, never on scheduling
+    private void submitChunks(ExecutorService pool, List<Future<?>> futures, String table, int stream, int total,
+            ChunkWriter writer) {
+        for (int from = 0; from < total; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, total);
+            Random random = new Random(seed * 31 + table.hashCode() * 17L + stream * 1_000_003L + start);
+            futures.add(pool.submit(() -> {
+                if (serialPerTable) {
+                    synchronized (tableLocks.computeIfAbsent(table, name -> new Object())) {
+                        writer.write(random, start, end);
+                    }
+                } else {
+                    writer.write(random, start, end);
+                }
+            }));
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing synthetic data", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error writing synthetic data", e.getCause());
+        }
+    }
+
+    private List<Long> idsOf(UserRole role) {
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE role = ? AND email LIKE ? ORDER BY id",
+                Long.class, role.name(), "%" + EMAIL_DOMAIN);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+    }
+
+    private static Long pick(Random random, List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(Random random, int from, int to);
+    }
+
+    /**
+     * Row counts to generate. Assessments per student is an average.
+     */
+    public record Volumes(int students, int professionals, int staff, int admins, int selfCare,
+            int assessmentsPerStudent, int appointments, int forumPosts, int forumComments) {
+    }
+}
@@ -1,9 +1,7 @@
 package com.mentalhealthhub.util;
 
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class TimeSlotUtil {
     
@@ -18,32 +16,19 @@ public class TimeSlotUtil {
     public static final LocalTime AFTERNOON_START = LocalTime.of(14, 0);
     public static final LocalTime AFTERNOON_END = LocalTime.of(17, 0);
     
+    // Layout of professionals without their own working hours
+    public static final SlotTable DEFAULT_TABLE = SlotTable.of(SLOT_DURATION_MINUTES,
+            MORNING_START + "-" + MORNING_END + "," + AFTERNOON_START + "-" + AFTERNOON_END);
+    
     /**
-     * Generates all available time slots for a given day
+     * Gets all available time slots of the default working day
      * Morning: 8:00-13:00, Afternoon: 14:00-17:00
      * Each slot is 30 minutes
      * Lunch break: 13:00-14:00
+     * @return Shared, unmodifiable list of immutable slots
      */
     public static List<TimeSlot> generateAllTimeSlots() {
-        List<TimeSlot> slots = new ArrayList<>();
-        
-        // Generate morning slots
-        LocalTime currentTime = MORNING_START;
-        while (currentTime.isBefore(MORNING_END)) {
-            LocalTime slotEnd = currentTime.plusMinutes(SLOT_DURATION_MINUTES);
-            slots.add(new TimeSlot(currentTime, slotEnd));
-            currentTime = slotEnd;
-        }
-        
-        // Generate afternoon slots (after lunch break)
-        currentTime = AFTERNOON_START;
-        while (currentTime.isBefore(AFTERNOON_END)) {
-            LocalTime slotEnd = currentTime.plusMinutes(SLOT_DURATION_MINUTES);
-            slots.add(new TimeSlot(currentTime, slotEnd));
-            currentTime = slotEnd;
-        }
-        
-        return slots;
+        return DEFAULT_TABLE.slots();
     }
     
     /**
@@ -60,19 +45,25 @@ public class TimeSlotUtil {
             return true;
         }
         
-        // Sort slots by start time
-        List<TimeSlot> sortedSlots = selectedSlots.stream()
-            .sorted((s1, s2) -> s1.getStartTime().compareTo(s2.getStartTime()))
-            .collect(Collectors.toList());
-        
-        // Check if each slot's end time equals next slot's start time
-        for (int i = 0; i < sortedSlots.size() - 1; i++) {
-            LocalTime currentEnd = sortedSlots.get(i).getEndTime();
-            LocalTime nextStart = sortedSlots.get(i + 1).getStartTime();
-            
-            if (!currentEnd.equals(nextStart)) {
+        // Start from the earliest slot and follow end == start links
+        TimeSlot current = selectedSlots.get(0);
+        for (TimeSlot slot : selectedSlots) {
+            if (slot.getStartTime().isBefore(current.getStartTime())) {
+                current = slot;
+            }
+        }
+        for (int linked = 1; linked < selectedSlots.size(); linked++) {
+            TimeSlot next = null;
+            for (TimeSlot slot : selectedSlots) {
+                if (slot.getStartTime().equals(current.getEndTime())) {
+                    next = slot;
+                    break;
+                }
+            }
+            if (next == null) {
                 return false;
             }
+            current = next;
         }
         
         return true;
@@ -88,12 +79,30 @@ public class TimeSlotUtil {
             return true;
         }
         
-        LocalTime lunchStart = LocalTime.of(13, 0);
-        LocalTime lunchEnd = LocalTime.of(14, 0);
-        
         for (TimeSlot slot : selectedSlots) {
             // Check if slot is during lunch break
-            if (slot.getStartTime().isBefore(lunchEnd) && slot.getEndTime().isAfter(lunchStart)) {
+            if (slot.getStartTime().isBefore(AFTERNOON_START) && slot.getEndTime().isAfter(MORNING_END)) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Validates that every selected slot is a slot of a working day, which
+     * rules out breaks and days off of that schedule
+     * @param selectedSlots List of selected time slots
+     * @param table Slot table of the professional's day
+     * @return true if all slots belong to the table, false otherwise
+     */
+    public static boolean slotsValidateLunchBreak(List<TimeSlot> selectedSlots, SlotTable table) {
+        if (selectedSlots == null || selectedSlots.isEmpty()) {
+            return true;
+        }
+        
+        for (TimeSlot slot : selectedSlots) {
+            if (table.indexOf(slot.getStartTime(), slot.getEndTime()) < 0) {
                 return false;
             }
         }
@@ -111,7 +120,11 @@ public class TimeSlotUtil {
             return 0;
         }
         
-        return selectedSlots.size() * SLOT_DURATION_MINUTES;
+        int minutes = 0;
+        for (TimeSlot slot : selectedSlots) {
+            minutes += (slot.getEndTime().toSecondOfDay() - slot.getStartTime().toSecondOfDay()) / 60;
+        }
+        return minutes;
     }
     
     /**
@@ -147,11 +160,11 @@ public class TimeSlotUtil {
     }
     
     /**
-     * Inner class representing a time slot
+     * Inner class representing an immutable time slot
      */
     public static class TimeSlot {
-        private LocalTime startTime;
-        private LocalTime endTime;
+        private final LocalTime startTime;
+        private final LocalTime endTime;
         
         public TimeSlot(LocalTime startTime, LocalTime endTime) {
             this.startTime = startTime;
@@ -162,18 +175,10 @@ public class TimeSlotUtil {
             return startTime;
         }
         
-        public void setStartTime(LocalTime startTime) {
-            this.startTime = startTime;
-        }
-        
         public LocalTime getEndTime() {
             return endTime;
         }
         
-        public void setEndTime(LocalTime endTime) {
-            this.endTime = endTime;
-        }
-        
         @Override
         public String toString() {
             return String.format("%02d:%02d-%02d:%02d", 
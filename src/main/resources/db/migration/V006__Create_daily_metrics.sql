@@ -0,0 +1,13 @@
+-- Pre-aggregated daily values backing the analytics trend charts.
+-- Rows are maintained by DailyMetricsService and rebuilt from the source tables
+-- when the table is empty at startup and nightly.
+
+CREATE TABLE IF NOT EXISTS daily_metrics (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    metric VARCHAR(40) NOT NULL,
+    metric_date DATE NOT NULL,
+    dimension VARCHAR(64) NOT NULL DEFAULT '',
+    metric_value BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_daily_metrics_key (metric, metric_date, dimension)
+);
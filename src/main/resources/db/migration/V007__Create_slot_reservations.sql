@@ -0,0 +1,17 @@
+-- One row per booked 30-minute slot of a professional's day, held by a pending
+-- or approved appointment. The unique key rejects double bookings; rows are
+-- written with the appointment by SlotReservationLedger and rebuilt from the
+-- appointments table when empty at startup.
+
+CREATE TABLE IF NOT EXISTS slot_reservations (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    appointment_id BIGINT NOT NULL,
+    professional_id BIGINT NOT NULL,
+    slot_date DATE NOT NULL,
+    slot_index INT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_slot_reservations_slot (professional_id, slot_date, slot_index),
+    KEY idx_slot_reservations_appointment (appointment_id),
+    CONSTRAINT fk_slot_reservations_appointment FOREIGN KEY (appointment_id)
+        REFERENCES appointments (id) ON DELETE CASCADE
+);
@@ -0,0 +1,13 @@
+-- Per-professional working periods for each weekday, cut into slots of
+-- slot_minutes. An empty periods string is a day off; weekdays without a row
+-- use the default 08:00-13:00, 14:00-17:00 schedule in 30-minute slots.
+
+CREATE TABLE IF NOT EXISTS working_hours (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    professional_id BIGINT NOT NULL,
+    day_of_week VARCHAR(10) NOT NULL,
+    periods VARCHAR(255) NOT NULL,
+    slot_minutes INT NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_working_hours_day (professional_id, day_of_week)
+);
@@ -0,0 +1,9 @@
+-- Keyset pages of a professional's or a student's appointments are read in
+-- (date, start time) order within a date window; these indexes serve both the
+-- range and the ordering without scanning older history.
+
+CREATE INDEX idx_appointments_professional_schedule
+    ON appointments (professional_id, appointment_date, time_slot_start);
+
+CREATE INDEX idx_appointments_student_schedule
+    ON appointments (student_id, appointment_date, time_slot_start);
@@ -0,0 +1,7 @@
+-- Overlap checks for a proposed or suggested time probe one professional's
+-- pending and approved appointments on one day, starting before the end of
+-- the requested interval; the status column lets both probes skip rejected
+-- and proposed rows.
+
+CREATE INDEX idx_appointments_professional_conflict
+    ON appointments (professional_id, appointment_date, status, time_slot_start);
@@ -0,0 +1,18 @@
+-- Forum-wide totals maintained by ForumService in the same transaction as
+-- the post or comment they count, and rebuilt from the source tables when
+-- the table is empty at startup or after a bulk import.
+
+CREATE TABLE IF NOT EXISTS forum_counters (
+    name VARCHAR(40) NOT NULL,
+    counter_value BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (name)
+);
+
+-- The feed is read newest first in keyset pages of (created_at, id), across
+-- all posts or within one category.
+
+CREATE INDEX idx_forum_posts_feed
+    ON forum_posts (created_at, id);
+
+CREATE INDEX idx_forum_posts_category_feed
+    ON forum_posts (category, created_at, id);
@@ -0,0 +1,10 @@
+-- Checkpoint of the in-memory hot-threads ranking kept by ForumHotThreads.
+-- Rewritten as a whole every minute and on shutdown, and read back at
+-- startup; posts missing from it are reseeded from recent forum_posts.
+
+CREATE TABLE IF NOT EXISTS forum_post_hotness (
+    post_id BIGINT NOT NULL,
+    log_score DOUBLE NOT NULL,
+    checkpointed_at DATETIME NOT NULL,
+    PRIMARY KEY (post_id)
+);
@@ -0,0 +1,5 @@
+-- A post's comments are read oldest first in keyset pages of
+-- (created_at, id), so each page is one range read of this index.
+
+CREATE INDEX idx_forum_comments_thread
+    ON forum_comments (post_id, created_at, id);
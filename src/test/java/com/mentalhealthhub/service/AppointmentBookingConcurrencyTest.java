@@ -0,0 +1,232 @@
+package com.mentalhealthhub.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.mentalhealthhub.model.Appointment;
+import com.mentalhealthhub.model.AppointmentStatus;
+import com.mentalhealthhub.model.User;
+import com.mentalhealthhub.model.UserRole;
+import com.mentalhealthhub.repository.UserRepository;
+
+/**
+ * Fires a few hundred concurrent bookings for overlapping windows of one
+ * professional's day and checks that the reservation ledger lets exactly one
+ * of them through, and that working-hours changes racing with bookings leave
+ * the ledger numbered for the final hours.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookings;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "appointments.reminders.enabled=false",
+        "logging.level.com.mentalhealthhub=INFO",
+        "logging.level.org.springframework.security=INFO"
+})
+class AppointmentBookingConcurrencyTest {
+
+    private static final int BOOKINGS = 300;
+    private static final int THREADS = 32;
+
+    // Every window covers 10:00-10:30, so any two bookings conflict
+    private static final LocalTime[] STARTS = { LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(10, 0) };
+    private static final LocalTime[] ENDS = { LocalTime.of(10, 30), LocalTime.of(11, 0), LocalTime.of(11, 30) };
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void searchIndex(DynamicPropertyRegistry registry) throws IOException {
+        String indexDir = Files.createTempDirectory("forum-index").toString();
+        registry.add("forum.search.index-dir", () -> indexDir);
+    }
+
+    @Test
+    void concurrentOverlappingBookingsLeaveOneActiveAppointment() throws Exception {
+        User professional = userRepository.save(user("pro-race@test.local", UserRole.PROFESSIONAL));
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            students.add(userRepository.save(user("student-race-" + i + "@test.local", UserRole.STUDENT)));
+        }
+        LocalDate date = LocalDate.now().plusDays(7);
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < BOOKINGS; i++) {
+                User student = students.get(i % students.size());
+                LocalTime start = STARTS[i % STARTS.length];
+                LocalTime end = ENDS[(i / STARTS.length) % ENDS.length];
+                boolean direct = i % 2 == 0;
+                futures.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        if (direct) {
+                            // Skips the availability pre-check and relies on the ledger alone
+                            appointmentService.saveAppointment(appointment(student, professional, date, start, end));
+                        } else {
+                            appointmentService.createAppointment(student, professional, date, start, end, null);
+                        }
+                        booked.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                // Anything but a slot conflict fails the test here
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, booked.get());
+        assertEquals(BOOKINGS - 1, rejected.get());
+
+        Integer active = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointments WHERE professional_id = ? AND appointment_date = ? "
+                        + "AND status IN ('PENDING', 'APPROVED')",
+                Integer.class, professional.getId(), date);
+        assertEquals(1, active);
+
+        Integer holders = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT appointment_id) FROM slot_reservations WHERE professional_id = ? "
+                        + "AND slot_date = ?",
+                Integer.class, professional.getId(), date);
+        assertEquals(1, holders);
+
+        List<Integer> doubleBooked = jdbcTemplate.queryForList(
+                "SELECT slot_index FROM slot_reservations WHERE professional_id = ? AND slot_date = ? "
+                        + "GROUP BY slot_index HAVING COUNT(*) > 1",
+                Integer.class, professional.getId(), date);
+        assertTrue(doubleBooked.isEmpty(), "Slots reserved twice: " + doubleBooked);
+
+        // The surviving appointment holds exactly the slots of its own window
+        Appointment winner = appointmentService.getProfessionalAppointments(professional).get(0);
+        int expectedSlots = Integer.bitCount(appointmentService.getSlotTable(professional.getId(), date)
+                .overlapMask(winner.getTimeSlotStart(), winner.getTimeSlotEnd()));
+        Integer slots = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM slot_reservations WHERE appointment_id = ?", Integer.class, winner.getId());
+        assertEquals(expectedSlots, slots);
+    }
+
+    @Test
+    void workingHoursChangesDuringBookingsKeepTheLedgerInStep() throws Exception {
+        User professional = userRepository.save(user("pro-hours@test.local", UserRole.PROFESSIONAL));
+        User student = userRepository.save(user("student-hours@test.local", UserRole.STUDENT));
+        // Whole hours, so every window is valid under both 30- and 60-minute slots
+        LocalTime[] starts = { LocalTime.of(8, 0), LocalTime.of(10, 0), LocalTime.of(14, 0), LocalTime.of(16, 0) };
+
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            futures.add(pool.submit(() -> {
+                go.await();
+                for (int i = 0; i < 20; i++) {
+                    Map<DayOfWeek, String> days = new EnumMap<>(DayOfWeek.class);
+                    for (DayOfWeek day : DayOfWeek.values()) {
+                        days.put(day, "08:00-13:00,14:00-17:00");
+                    }
+                    appointmentService.updateWorkingHours(professional, i % 2 == 0 ? 60 : 30, days);
+                }
+                return null;
+            }));
+            for (int d = 1; d <= 10; d++) {
+                LocalDate date = LocalDate.now().plusDays(d);
+                for (LocalTime start : starts) {
+                    futures.add(pool.submit(() -> {
+                        go.await();
+                        appointmentService.saveAppointment(
+                                appointment(student, professional, date, start, start.plusHours(1)));
+                        return null;
+                    }));
+                }
+            }
+            go.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Every booking holds the slots of its window under the final tables
+        List<Map<String, Object>> appointments = jdbcTemplate.queryForList(
+                "SELECT id, appointment_date, time_slot_start, time_slot_end FROM appointments "
+                        + "WHERE professional_id = ?", professional.getId());
+        assertEquals(40, appointments.size());
+        for (Map<String, Object> row : appointments) {
+            LocalDate date = ((java.sql.Date) row.get("appointment_date")).toLocalDate();
+            int expectedSlots = Integer.bitCount(appointmentService.getSlotTable(professional.getId(), date)
+                    .overlapMask(((java.sql.Time) row.get("time_slot_start")).toLocalTime(),
+                            ((java.sql.Time) row.get("time_slot_end")).toLocalTime()));
+            Integer slots = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM slot_reservations WHERE appointment_id = ?", Integer.class, row.get("id"));
+            assertEquals(expectedSlots, slots);
+        }
+    }
+
+    private static User user(String email, UserRole role) {
+        User user = User.builder()
+                .email(email)
+                .password("password")
+                .name(email)
+                .role(role)
+                .build();
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+
+    private static Appointment appointment(User student, User professional, LocalDate date, LocalTime start,
+            LocalTime end) {
+        return Appointment.builder()
+                .student(student)
+                .professional(professional)
+                .appointmentDate(date)
+                .timeSlotStart(start)
+                .timeSlotEnd(end)
+                .status(AppointmentStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+}